@@ -17,6 +17,8 @@ public class CorsConfig {
         config.setAllowedOrigins(List.of("http://localhost:3000"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        // keyset cursor of paged lists (matching-service)
+        config.setExposedHeaders(List.of("X-Next-Cursor"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source =
@@ -145,15 +145,18 @@ public class JwtAuthFilter implements GlobalFilter {
             // After StripPrefix=1, /match/** becomes /matches/**
             if (path.startsWith("/matches")) {
 
-                // USER can fetch their own matches
-                if ("GET".equals(method) && path.startsWith("/matches/by-user/")) {
+                // USER can fetch (or stream) their own matches
+                String userPrefix = path.startsWith("/matches/by-user/") ? "/matches/by-user/"
+                        : path.startsWith("/matches/stream/") ? "/matches/stream/"
+                        : null;
+                if ("GET".equals(method) && userPrefix != null) {
 
                     if (!"USER".equals(role) && !"ADMIN".equals(role)) {
                         exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
                         return exchange.getResponse().setComplete();
                     }
 
-                    String requested = path.substring("/matches/by-user/".length());
+                    String requested = path.substring(userPrefix.length());
                     int slash = requested.indexOf("/");
                     if (slash >= 0) requested = requested.substring(0, slash);
                     int qmark = requested.indexOf("?");
@@ -168,6 +171,15 @@ public class JwtAuthFilter implements GlobalFilter {
                     return chain.filter(exchange);
                 }
 
+                // USER can preview matches for a lost report they are writing
+                if ("POST".equals(method) && path.equals("/matches/preview")) {
+                    if (!"USER".equals(role) && !"ADMIN".equals(role)) {
+                        exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+                        return exchange.getResponse().setComplete();
+                    }
+                    return chain.filter(exchange);
+                }
+
                 // All other /matches/** → ADMIN only
                 if (!"ADMIN".equals(role)) {
                     exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
@@ -0,0 +1,23 @@
+package com.LostandFound.found_services.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.LostandFound.found_services.repo.StoredImageRepository;
+import com.LostandFound.found_services.service.ImageStore;
+
+@Configuration
+public class ImageStoreConfig {
+
+    // public URLs of stored photos; StaticResourceConfig serves this prefix
+    public static final String URL_PREFIX = "/uploads";
+
+    @Bean
+    public ImageStore imageStore(StoredImageRepository images,
+                                 PlatformTransactionManager txManager,
+                                 @Value("${found.uploads.dir:uploads}") String dir) {
+        return new ImageStore(images, txManager, URL_PREFIX, dir);
+    }
+}
@@ -0,0 +1,93 @@
+package com.LostandFound.found_services.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resource converters that send files without copying them through a heap
+ * buffer: on Tomcat the socket sends the file itself (sendfile, the same request
+ * attributes Tomcat's DefaultServlet uses), elsewhere it goes through
+ * {@link FileChannel#transferTo}. Anything that isn't a plain file falls back
+ * to Spring's stream copy.
+ */
+final class SendfileConverters {
+
+    // below this a buffered write is cheaper than handing the file to the poller (Tomcat's default too)
+    static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private SendfileConverters() {}
+
+    /** Whole files (200 responses). */
+    static final class Full extends ResourceHttpMessageConverter {
+        @Override
+        protected void writeContent(Resource resource, HttpOutputMessage out) throws IOException {
+            if (!resource.isFile()) {
+                super.writeContent(resource, out);
+                return;
+            }
+            File file = resource.getFile();
+            send(file, 0, file.length(), out);
+        }
+    }
+
+    /** Single byte ranges (206 responses); multi-range requests keep Spring's multipart writer. */
+    static final class Region extends ResourceRegionHttpMessageConverter {
+        @Override
+        protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage out) throws IOException {
+            Resource resource = region.getResource();
+            if (!resource.isFile()) {
+                super.writeResourceRegion(region, out);
+                return;
+            }
+            long length = resource.contentLength();
+            long start = region.getPosition();
+            long end = Math.min(start + region.getCount(), length);
+            out.getHeaders().add("Content-Range", "bytes " + start + '-' + (end - 1) + '/' + length);
+            out.getHeaders().setContentLength(end - start);
+            send(resource.getFile(), start, end - start, out);
+        }
+    }
+
+    private static void send(File file, long position, long count, HttpOutputMessage out) throws IOException {
+        HttpServletRequest request = currentRequest();
+        if (request != null && count >= SENDFILE_MIN_SIZE
+                && Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            // Tomcat writes the file once the response is committed
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.getAbsolutePath());
+            request.setAttribute("org.apache.tomcat.sendfile.start", position);
+            request.setAttribute("org.apache.tomcat.sendfile.end", position + count);
+            out.getBody(); // writes the headers
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out.getBody());
+            long sent = 0;
+            while (sent < count) {
+                long n = channel.transferTo(position + sent, count - sent, target);
+                if (n <= 0) break; // file shrank underneath us
+                sent += n;
+            }
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+}
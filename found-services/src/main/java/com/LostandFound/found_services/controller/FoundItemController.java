@@ -1,31 +1,40 @@
 package com.LostandFound.found_services.controller;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.LinkedHashSet;
+import java.io.InputStream;
 import java.util.List;
-import java.util.Set;
-import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.LostandFound.found_services.model.FoundItem;
+import com.LostandFound.found_services.model.FoundItemChangeFeed;
+import com.LostandFound.found_services.model.FoundItemPage;
 import com.LostandFound.found_services.repo.FoundItemRepository;
+import com.LostandFound.found_services.service.FoundImageProcessor;
+import com.LostandFound.found_services.service.FoundItemChangeLog;
+import com.LostandFound.found_services.service.FoundKeywords;
+import com.LostandFound.found_services.service.ImageStore;
 
 @RestController
 @RequestMapping("/found-items")
 public class FoundItemController {
 
+    public static final int MAX_PAGE_LIMIT = 1000;
+
     private final FoundItemRepository repo;
+    private final FoundItemChangeLog changeLog;
+    private final FoundImageProcessor imageProcessor;
+    private final ImageStore images;
 
-    public FoundItemController(FoundItemRepository repo) {
+    public FoundItemController(FoundItemRepository repo, FoundItemChangeLog changeLog,
+                               FoundImageProcessor imageProcessor, ImageStore images) {
         this.repo = repo;
+        this.changeLog = changeLog;
+        this.imageProcessor = imageProcessor;
+        this.images = images;
     }
 
     @GetMapping("/health")
@@ -33,18 +42,6 @@ public class FoundItemController {
         return "OK";
     }
 
-    // ✅ helper: trim + lowercase + unique
-    private List<String> normalizeKeywords(List<String> keywords) {
-        if (keywords == null) return List.of();
-        Set<String> uniq = new LinkedHashSet<>();
-        for (String k : keywords) {
-            if (k == null) continue;
-            String v = k.trim().toLowerCase();
-            if (!v.isBlank()) uniq.add(v);
-        }
-        return uniq.stream().collect(Collectors.toList());
-    }
-
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public FoundItem create(
             @RequestParam("image") MultipartFile image,
@@ -55,31 +52,37 @@ public class FoundItemController {
             @RequestParam(value = "keywords", required = false) List<String> keywords
     ) throws Exception {
 
-        // Store image locally
-        Path uploadDir = Paths.get("uploads");
-        Files.createDirectories(uploadDir);
-
+        // Store image locally (identical photos are kept once)
         String original = image.getOriginalFilename() == null ? "" : image.getOriginalFilename();
         String ext = original.contains(".")
                 ? original.substring(original.lastIndexOf("."))
                 : ".jpg";
 
-        String filename = UUID.randomUUID() + ext;
-        Path target = uploadDir.resolve(filename);
-
-        Files.copy(image.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+        ImageStore.Stored stored;
+        try (InputStream in = image.getInputStream()) {
+            stored = images.store(in, ext);
+        }
 
         FoundItem item = new FoundItem();
         item.setTitle(title);
         item.setDescription(description);
         item.setLocation(location);
         item.setStatus("AVAILABLE");
-        item.setImagePath("/uploads/" + filename);
+        item.setImagePath(stored.url());
 
         // ✅ persist keywords
-        item.setKeywords(normalizeKeywords(keywords));
-
-        return repo.save(item);
+        item.setKeywords(FoundKeywords.normalizeKeywords(keywords));
+
+        // thumbnails, photo hash and colour keywords are added in the background
+        FoundItem saved;
+        try {
+            saved = changeLog.save(item);
+        } catch (RuntimeException e) {
+            images.release(stored.url());
+            throw e;
+        }
+        imageProcessor.submit(saved.getId(), stored.file());
+        return saved;
     }
 
     @GetMapping
@@ -87,6 +90,49 @@ public class FoundItemController {
         return repo.findAll();
     }
 
+    // keyset-paginated list: pass the previous page's "next" as "after" (used by matching-service)
+    @GetMapping("/page")
+    public FoundItemPage page(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "500") int limit,
+            // optional, repeatable: only items in these statuses
+            @RequestParam(value = "status", required = false) List<String> status
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+
+        boolean first = after == null || after.isBlank();
+        List<FoundItem> items;
+        if (status != null && !status.isEmpty()) {
+            items = repo.findPageByStatus(status, first ? "" : after, Limit.of(limit));
+        } else {
+            items = first
+                    ? repo.findAllByOrderByIdAsc(Limit.of(limit))
+                    : repo.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+        }
+
+        String next = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+        return new FoundItemPage(items, next);
+    }
+
+    // change feed: items created/updated/deleted after a cursor (used by matching-service)
+    @GetMapping("/changes")
+    public FoundItemChangeFeed changes(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "500") int limit,
+            // optional, repeatable: items that left these statuses come back as deleted
+            @RequestParam(value = "status", required = false) List<String> status
+    ) {
+        return changeLog.feed(after, limit, status);
+    }
+
+    // current cursor of the change feed
+    @GetMapping("/changes/head")
+    public long changesHead() {
+        return changeLog.head();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<FoundItem> get(@PathVariable String id) {
         return repo.findById(id)
@@ -112,21 +158,24 @@ public class FoundItemController {
 
                     // ✅ update keywords when provided
                     if (body.getKeywords() != null) {
-                        existing.setKeywords(normalizeKeywords(body.getKeywords()));
+                        existing.setKeywords(FoundKeywords.normalizeKeywords(body.getKeywords()));
                     }
 
-                    return ResponseEntity.ok(repo.save(existing));
+                    return ResponseEntity.ok(changeLog.save(existing));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable String id) {
-        if (!repo.existsById(id)) {
+        FoundItem item = repo.findById(id).orElse(null);
+        if (item == null) {
             return ResponseEntity.notFound().build();
         }
 
-        repo.deleteById(id);
+        changeLog.delete(id);
+        // the photo goes once no other item shares it
+        images.release(item.getImagePath());
         return ResponseEntity.noContent().build();
     }
 }
@@ -4,10 +4,18 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "found_items")
+// updates write only changed columns, so an edit does not put back stale photo fields
+@DynamicUpdate
+@Table(
+        name = "found_items",
+        // status-filtered keyset pages (matching-service only reads AVAILABLE items)
+        indexes = @Index(name = "idx_found_items_status_id", columnList = "status, id")
+)
 public class FoundItem {
 
     @Id
@@ -22,6 +30,12 @@ public class FoundItem {
 
     private String imagePath; // local file path or served URL
 
+    private Long imageHash; // 64-bit dHash of the photo, null if it couldn't be decoded
+
+    // resized copies of the photo (160px / 640px), null until they are generated
+    private String thumbnailPath;
+    private String largeThumbnailPath;
+
     private String status; // AVAILABLE / CLAIMED / RETURNED
 
     // ✅ NEW: store keywords in DB
@@ -53,6 +67,15 @@ public class FoundItem {
     public String getImagePath() { return imagePath; }
     public void setImagePath(String imagePath) { this.imagePath = imagePath; }
 
+    public String getThumbnailPath() { return thumbnailPath; }
+    public void setThumbnailPath(String thumbnailPath) { this.thumbnailPath = thumbnailPath; }
+
+    public String getLargeThumbnailPath() { return largeThumbnailPath; }
+    public void setLargeThumbnailPath(String largeThumbnailPath) { this.largeThumbnailPath = largeThumbnailPath; }
+
+    public Long getImageHash() { return imageHash; }
+    public void setImageHash(Long imageHash) { this.imageHash = imageHash; }
+
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
@@ -61,4 +84,11 @@ public class FoundItem {
 
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    // never stored without a status, so status pages need no IS NULL branch
+    @PrePersist
+    @PreUpdate
+    void defaultStatus() {
+        if (status == null) status = "AVAILABLE";
+    }
 }
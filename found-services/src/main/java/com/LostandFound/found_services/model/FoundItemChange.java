@@ -0,0 +1,58 @@
+package com.LostandFound.found_services.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+
+/**
+ * One row per create/update/delete of a found item; {@code seq} is the change-feed cursor.
+ * Doubles as the outbox for item events pushed to matching-service ({@code dispatched}).
+ */
+@Entity
+@Table(name = "found_item_changes")
+public class FoundItemChange {
+
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "found_item_id", nullable = false)
+    private String foundItemId;
+
+    @Column(nullable = false)
+    private String type; // UPSERT / DELETE
+
+    // set on insert, i.e. right when seq is assigned; the feed uses it to tell settled rows
+    private Instant changedAt;
+
+    // false until the item event was delivered to matching-service (null on rows from before the outbox)
+    private Boolean dispatched = false;
+
+    // set on the oldest remaining row once the rows before it were pruned
+    private Boolean prunedBefore;
+
+    public FoundItemChange() {}
+
+    public FoundItemChange(String foundItemId, String type) {
+        this.foundItemId = foundItemId;
+        this.type = type;
+    }
+
+    @PrePersist
+    void prePersist() { changedAt = Instant.now(); }
+
+    public Long getSeq() { return seq; }
+
+    public String getFoundItemId() { return foundItemId; }
+
+    public String getType() { return type; }
+
+    public Instant getChangedAt() { return changedAt; }
+
+    public Boolean getDispatched() { return dispatched; }
+
+    public Boolean getPrunedBefore() { return prunedBefore; }
+}
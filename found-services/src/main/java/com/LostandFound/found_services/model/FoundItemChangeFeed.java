@@ -0,0 +1,9 @@
+package com.LostandFound.found_services.model;
+
+import java.util.List;
+
+/**
+ * A page of the found-item change feed: current state of items changed after the
+ * requested cursor, ids of items deleted since then, and the cursor to ask from next.
+ */
+public record FoundItemChangeFeed(List<FoundItem> items, List<String> deleted, long cursor, boolean hasMore) {}
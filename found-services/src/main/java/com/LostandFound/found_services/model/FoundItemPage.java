@@ -0,0 +1,9 @@
+package com.LostandFound.found_services.model;
+
+import java.util.List;
+
+/**
+ * One keyset page of found items, ordered by id. {@code next} is the {@code after}
+ * value for the following page, or null on the last page.
+ */
+public record FoundItemPage(List<FoundItem> items, String next) {}
@@ -0,0 +1,41 @@
+package com.LostandFound.found_services.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+
+/**
+ * One row per distinct uploaded file in the image store: its SHA-256, the
+ * extension it was first stored with and how many items point at it.
+ */
+@Entity
+@Table(name = "stored_images")
+public class StoredImage {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private String extension; // ".jpg"
+
+    private int refs;
+
+    private Instant createdAt = Instant.now();
+
+    public StoredImage() {}
+
+    public StoredImage(String hash, String extension) {
+        this.hash = hash;
+        this.extension = extension;
+    }
+
+    public String getHash() { return hash; }
+
+    public String getExtension() { return extension; }
+
+    public int getRefs() { return refs; }
+    public void setRefs(int refs) { this.refs = refs; }
+
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,44 @@
+package com.LostandFound.found_services.repo;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.LostandFound.found_services.model.FoundItemChange;
+
+public interface FoundItemChangeRepository extends JpaRepository<FoundItemChange, Long> {
+
+    List<FoundItemChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+
+    Optional<FoundItemChange> findTopByOrderBySeqDesc();
+
+    Optional<FoundItemChange> findTopByChangedAtLessThanEqualOrderBySeqDesc(Instant changedAt);
+
+    Optional<FoundItemChange> findTopByOrderBySeqAsc();
+
+    // outbox: changes not yet delivered to matching-service
+    List<FoundItemChange> findByDispatchedFalseOrderBySeqAsc(Limit limit);
+
+    @Modifying
+    @Query("update FoundItemChange c set c.dispatched = true where c.seq in :seqs")
+    int markDispatched(@Param("seqs") Collection<Long> seqs);
+
+    // first row that must be kept: not yet delivered, or changed after the cutoff
+    @Query("select min(c.seq) from FoundItemChange c where c.dispatched = false or c.changedAt > :before")
+    Long findFirstKeptSeq(@Param("before") Instant before);
+
+    @Modifying
+    @Query("delete from FoundItemChange c where c.seq < :seq")
+    int deleteBySeqBefore(@Param("seq") long seq);
+
+    @Modifying
+    @Query("update FoundItemChange c set c.prunedBefore = true where c.seq = :seq")
+    int markPrunedBefore(@Param("seq") long seq);
+}
@@ -1,7 +1,46 @@
 package com.LostandFound.found_services.repo;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.LostandFound.found_services.model.FoundItem;
 
-public interface FoundItemRepository extends JpaRepository<FoundItem, String> {}
+public interface FoundItemRepository extends JpaRepository<FoundItem, String> {
+
+    // keyset paging by primary key: no OFFSET scan, stable while rows are added
+    List<FoundItem> findAllByOrderByIdAsc(Limit limit);
+
+    List<FoundItem> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    // keyset page restricted to some statuses (served by the (status, id) index)
+    @Query("select i from FoundItem i where i.status in :statuses and i.id > :after order by i.id")
+    List<FoundItem> findPageByStatus(@Param("statuses") Collection<String> statuses,
+                                 @Param("after") String after,
+                                 Limit limit);
+
+    // rows from before status was always set; run once at startup
+    @Transactional
+    @Modifying
+    @Query("update FoundItem i set i.status = 'AVAILABLE' where i.status is null")
+    int backfillStatus();
+
+    // photo analysis results only, so a concurrent edit of the other fields is not overwritten
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update FoundItem i set i.imageHash = :hash, i.thumbnailPath = :thumbnail, "
+            + "i.largeThumbnailPath = :largeThumbnail where i.id = :id")
+    int updatePhoto(@Param("id") String id, @Param("hash") Long hash,
+                    @Param("thumbnail") String thumbnail, @Param("largeThumbnail") String largeThumbnail);
+
+    // adds one keyword without rewriting the item's others
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "insert into found_item_keywords (found_item_id, keyword) values (:id, :keyword)",
+            nativeQuery = true)
+    int addKeyword(@Param("id") String id, @Param("keyword") String keyword);
+}
@@ -0,0 +1,8 @@
+package com.LostandFound.found_services.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.LostandFound.found_services.model.StoredImage;
+
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+}
@@ -0,0 +1,81 @@
+package com.LostandFound.found_services.service;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Colour keywords ("black", "blue", "pink", ...) for a photo, from a histogram
+ * of its pixels quantized to a dozen named colours.
+ *
+ * Pixels in the middle of the frame count triple, since that is usually where
+ * the item is and the edges are table or floor. Colours covering at least
+ * MIN_SHARE of the (weighted) picture are returned, most common first.
+ * Callers pass a small copy (the list thumbnail); colour shares don't need more.
+ */
+final class ColorKeywords {
+
+    static final String[] NAMES = {
+            "black", "white", "gray", "red", "orange", "brown", "yellow",
+            "green", "blue", "purple", "pink"
+    };
+    private static final int BLACK = 0, WHITE = 1, GRAY = 2, RED = 3, ORANGE = 4, BROWN = 5,
+            YELLOW = 6, GREEN = 7, BLUE = 8, PURPLE = 9, PINK = 10;
+
+    static final double MIN_SHARE = 0.2;
+    static final int MAX_COLORS = 3;
+
+    private ColorKeywords() {}
+
+    static List<String> of(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        long[] histogram = new long[NAMES.length];
+        long total = 0;
+        int[] row = new int[w];
+        float[] hsb = new float[3];
+
+        for (int y = 0; y < h; y++) {
+            image.getRGB(0, y, w, 1, row, 0, w);
+            boolean middleRow = y >= h / 4 && y < h - h / 4;
+            for (int x = 0; x < w; x++) {
+                int rgb = row[x];
+                Color.RGBtoHSB((rgb >> 16) & 0xff, (rgb >> 8) & 0xff, rgb & 0xff, hsb);
+                int weight = middleRow && x >= w / 4 && x < w - w / 4 ? 3 : 1;
+                histogram[bin(hsb[0] * 360, hsb[1], hsb[2])] += weight;
+                total += weight;
+            }
+        }
+
+        if (total == 0) return List.of();
+        long min = (long) Math.ceil(total * MIN_SHARE);
+        return IntStream.range(0, NAMES.length)
+                .boxed()
+                .filter(i -> histogram[i] >= min)
+                .sorted(Comparator.comparingLong((Integer i) -> histogram[i]).reversed())
+                .limit(MAX_COLORS)
+                .map(i -> NAMES[i])
+                .toList();
+    }
+
+    // hue in degrees, saturation and brightness in [0, 1]
+    static int bin(float hue, float saturation, float brightness) {
+        if (brightness < 0.2f) return BLACK;
+        if (saturation < 0.15f) {
+            if (brightness > 0.85f) return WHITE;
+            return brightness < 0.3f ? BLACK : GRAY;
+        }
+        if (hue < 15 || hue >= 345) {
+            // pale or light reds read as pink
+            return saturation < 0.5f && brightness > 0.7f ? PINK : RED;
+        }
+        if (hue < 40) return brightness < 0.6f ? BROWN : ORANGE;
+        if (hue < 70) return brightness < 0.5f ? BROWN : YELLOW;
+        if (hue < 165) return GREEN;
+        if (hue < 255) return BLUE;
+        if (hue < 290) return PURPLE;
+        return PINK;
+    }
+}
@@ -0,0 +1,136 @@
+package com.LostandFound.found_services.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.LostandFound.found_services.repo.FoundItemRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Works on uploaded photos off the request thread. Each photo is decoded once
+ * and turned upright, then:
+ *  - thumbnails ({@link #SMALL} and {@link #LARGE}) are written next to it as metadata-free JPEGs
+ *    ("/uploads/thumbs/{name}-{size}.jpg"),
+ *  - the perceptual hash and colour keywords are computed.
+ * The results are merged into the stored item through the change log, so
+ * matching-service picks them up like any other edit.
+ *
+ * Runs on a small fixed pool with a bounded queue. When the queue is full the
+ * photo is skipped (logged) rather than slowing uploads down; the item keeps the
+ * original only and the keywords it was created with.
+ */
+@Component
+public class FoundImageProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(FoundImageProcessor.class);
+
+    /** Thumbnail sizes (longer side, px): list cards and detail views. */
+    public static final int SMALL = 160;
+    public static final int LARGE = 640;
+
+    private final FoundItemRepository repo;
+    private final FoundItemChangeLog changeLog;
+    private final TransactionTemplate tx;
+    private final ThreadPoolExecutor executor;
+
+    public FoundImageProcessor(FoundItemRepository repo,
+                               FoundItemChangeLog changeLog,
+                               PlatformTransactionManager txManager,
+                               @Value("${found.image-processing.threads:2}") int threads,
+                               @Value("${found.image-processing.queue-capacity:100}") int queueCapacity) {
+        this.repo = repo;
+        this.changeLog = changeLog;
+        this.tx = new TransactionTemplate(txManager);
+
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "found-image-processing-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /** Queues a stored item's photo; call after the item is committed. */
+    public void submit(String itemId, Path image) {
+        try {
+            executor.execute(() -> {
+                try {
+                    process(itemId, image);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Image processing failed for found item {}: {}", itemId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Image processing queue full, skipping found item {}", itemId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Thumbnail URL for an original's URL ("/uploads/a.jpg" -> "/uploads/thumbs/a-160.jpg"). */
+    static String thumbnailUrl(String imagePath, int size) {
+        int slash = imagePath.lastIndexOf('/');
+        return imagePath.substring(0, slash + 1) + "thumbs/" + thumbnailName(imagePath.substring(slash + 1), size);
+    }
+
+    private static String thumbnailName(String original, int size) {
+        int dot = original.lastIndexOf('.');
+        return (dot > 0 ? original.substring(0, dot) : original) + "-" + size + ".jpg";
+    }
+
+    void process(String itemId, Path image) throws IOException {
+        BufferedImage decoded = Images.readSampled(image, LARGE);
+        if (decoded == null) return;
+        BufferedImage upright = Images.orient(decoded, Images.orientation(image));
+
+        Path thumbs = image.toAbsolutePath().getParent().resolve("thumbs");
+        String name = image.getFileName().toString();
+        BufferedImage large = Images.fit(upright, LARGE);
+        BufferedImage small = Images.fit(large, SMALL);
+        Images.writeJpeg(large, thumbs.resolve(thumbnailName(name, LARGE)));
+        Images.writeJpeg(small, thumbs.resolve(thumbnailName(name, SMALL)));
+
+        Long hash = PerceptualHash.dHash(upright);
+        List<String> colors = ColorKeywords.of(small);
+
+        // only the photo columns and the missing colours are written: an edit that
+        // commits meanwhile keeps its title, description, status and keywords
+        tx.executeWithoutResult(s -> repo.findById(itemId).ifPresent(item -> {
+            List<String> current = FoundKeywords.normalizeKeywords(item.getKeywords());
+            List<String> missing = colors.stream().filter(c -> !current.contains(c)).toList();
+            String thumbnail = item.getImagePath() == null ? null : thumbnailUrl(item.getImagePath(), SMALL);
+            String largeThumbnail = item.getImagePath() == null ? null : thumbnailUrl(item.getImagePath(), LARGE);
+            boolean photoChanged = !Objects.equals(item.getImageHash(), hash)
+                    || !Objects.equals(item.getThumbnailPath(), thumbnail)
+                    || !Objects.equals(item.getLargeThumbnailPath(), largeThumbnail);
+            if (!photoChanged && missing.isEmpty()) {
+                return;
+            }
+            if (photoChanged) {
+                repo.updatePhoto(itemId, hash, thumbnail, largeThumbnail);
+            }
+            missing.forEach(color -> repo.addKeyword(itemId, color));
+            changeLog.recordUpdate(itemId);
+        }));
+    }
+}
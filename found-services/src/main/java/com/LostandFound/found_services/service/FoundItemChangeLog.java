@@ -0,0 +1,194 @@
+package com.LostandFound.found_services.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.LostandFound.found_services.model.FoundItem;
+import com.LostandFound.found_services.model.FoundItemChange;
+import com.LostandFound.found_services.model.FoundItemChangeFeed;
+import com.LostandFound.found_services.repo.FoundItemChangeRepository;
+import com.LostandFound.found_services.repo.FoundItemRepository;
+
+/**
+ * Writes found items together with a change row, and serves the change feed
+ * consumers (matching-service) use to pick up only what changed.
+ *
+ * Change rows take their seq on insert but become visible on commit, so two
+ * concurrent writes can commit out of seq order. A reader that saw seq 11
+ * before seq 10 committed would move its cursor past 10 for good. The feed
+ * (and head) therefore stop at the first row younger than the settle delay:
+ * everything before that point has had time to commit, as long as no write
+ * holds its transaction open longer than the delay.
+ *
+ * Rows already delivered as item events are pruned once older than the
+ * retention; a cursor from before the pruned range is rejected, and the
+ * consumer starts over from the full list.
+ */
+@Service
+public class FoundItemChangeLog {
+
+    public static final int MAX_FEED_LIMIT = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(FoundItemChangeLog.class);
+
+    /** Published (in-process) when a change row is written; listeners run after commit. */
+    public record Recorded(long seq) {}
+
+    private final FoundItemRepository repo;
+    private final FoundItemChangeRepository changes;
+    private final ApplicationEventPublisher events;
+    private final long settleMs;
+    private final long retentionMs;
+
+    public FoundItemChangeLog(FoundItemRepository repo,
+                              FoundItemChangeRepository changes,
+                              ApplicationEventPublisher events,
+                              @Value("${found.changes.settle-ms:5000}") long settleMs,
+                              @Value("${found.changes.retention-ms:604800000}") long retentionMs) {
+        this.repo = repo;
+        this.changes = changes;
+        this.events = events;
+        this.settleMs = settleMs;
+        this.retentionMs = retentionMs;
+    }
+
+    @Transactional
+    public FoundItem save(FoundItem item) {
+        FoundItem saved = repo.save(item);
+        record(saved.getId(), FoundItemChange.UPSERT);
+        return saved;
+    }
+
+    @Transactional
+    public void delete(String id) {
+        repo.deleteById(id);
+        record(id, FoundItemChange.DELETE);
+    }
+
+    /** Records an update of an item written in place (targeted update rather than {@link #save}). */
+    @Transactional
+    public void recordUpdate(String id) {
+        record(id, FoundItemChange.UPSERT);
+    }
+
+    private void record(String id, String type) {
+        FoundItemChange change = changes.save(new FoundItemChange(id, type));
+        events.publishEvent(new Recorded(change.getSeq()));
+    }
+
+    /** Latest cursor; reading the full list after this and then following the feed misses nothing. */
+    @Transactional(readOnly = true)
+    public long head() {
+        return changes.findTopByChangedAtLessThanEqualOrderBySeqDesc(settledBefore())
+                .map(FoundItemChange::getSeq)
+                .orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public FoundItemChangeFeed feed(long after, int limit) {
+        return feed(after, limit, null);
+    }
+
+    /**
+     * Like {@link #feed(long, int)}, but items whose current status is not in
+     * {@code statuses} are reported as deleted, so a consumer that only keeps
+     * those statuses drops them. Null or empty = no filter; a null status
+     * always passes.
+     */
+    @Transactional(readOnly = true)
+    public FoundItemChangeFeed feed(long after, int limit, Collection<String> statuses) {
+        if (limit < 1 || limit > MAX_FEED_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_FEED_LIMIT);
+        }
+
+        FoundItemChange oldest = changes.findTopByOrderBySeqAsc().orElse(null);
+        if (oldest != null && Boolean.TRUE.equals(oldest.getPrunedBefore()) && after < oldest.getSeq() - 1) {
+            throw new IllegalArgumentException("Changes after " + after + " were pruned; re-read the full list");
+        }
+
+        List<FoundItemChange> fetched = changes.findBySeqGreaterThanOrderBySeqAsc(after, Limit.of(limit));
+        List<FoundItemChange> rows = settled(fetched);
+        if (rows.isEmpty()) {
+            return new FoundItemChangeFeed(List.of(), List.of(), after, false);
+        }
+
+        // an item may change several times in one page; report its current state once
+        Set<String> ids = new LinkedHashSet<>();
+        for (FoundItemChange c : rows) {
+            ids.remove(c.getFoundItemId());
+            ids.add(c.getFoundItemId());
+        }
+
+        Map<String, FoundItem> current = repo.findAllById(ids).stream()
+                .collect(Collectors.toMap(FoundItem::getId, Function.identity()));
+
+        List<FoundItem> items = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (String id : ids) {
+            FoundItem item = current.get(id);
+            if (item != null && hasStatus(item, statuses)) {
+                items.add(item);
+            } else {
+                deleted.add(id);
+            }
+        }
+
+        long cursor = rows.get(rows.size() - 1).getSeq();
+        return new FoundItemChangeFeed(items, deleted, cursor, rows.size() == limit);
+    }
+
+    /** Deletes delivered rows older than the retention, always keeping the newest row. */
+    @Scheduled(fixedDelayString = "${found.changes.prune-ms:3600000}")
+    @Transactional
+    public int prune() {
+        Long newest = changes.findTopByOrderBySeqDesc().map(FoundItemChange::getSeq).orElse(null);
+        if (newest == null) {
+            return 0;
+        }
+        Long firstKept = changes.findFirstKeptSeq(Instant.now().minusMillis(retentionMs));
+        long keep = firstKept == null ? newest : Math.min(firstKept, newest);
+        int pruned = changes.deleteBySeqBefore(keep);
+        if (pruned > 0) {
+            changes.markPrunedBefore(keep);
+            log.info("Pruned {} found item changes", pruned);
+        }
+        return pruned;
+    }
+
+    private Instant settledBefore() {
+        return Instant.now().minusMillis(settleMs);
+    }
+
+    // the rows up to the first one that may still have uncommitted rows before it
+    private List<FoundItemChange> settled(List<FoundItemChange> rows) {
+        Instant before = settledBefore();
+        for (int i = 0; i < rows.size(); i++) {
+            Instant at = rows.get(i).getChangedAt();
+            if (at != null && at.isAfter(before)) {
+                return rows.subList(0, i);
+            }
+        }
+        return rows;
+    }
+
+    private static boolean hasStatus(FoundItem item, Collection<String> statuses) {
+        return statuses == null || statuses.isEmpty()
+                || item.getStatus() == null || statuses.contains(item.getStatus());
+    }
+}
@@ -0,0 +1,35 @@
+package com.LostandFound.found_services.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.LostandFound.found_services.repo.FoundItemRepository;
+
+/**
+ * Gives found items stored before the status was always set the default status
+ * (AVAILABLE), so status-filtered pages can use the (status, id) index without an
+ * IS NULL branch. Matching already treated a missing status as AVAILABLE, so no
+ * change rows are written.
+ */
+@Component
+public class FoundItemStatusBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(FoundItemStatusBackfill.class);
+
+    private final FoundItemRepository repo;
+
+    public FoundItemStatusBackfill(FoundItemRepository repo) {
+        this.repo = repo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = repo.backfillStatus();
+        if (updated > 0) {
+            log.info("Set status AVAILABLE on {} found items without one", updated);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.LostandFound.found_services.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keyword rules for found items, shared by the API and upload analysis.
+ */
+public final class FoundKeywords {
+
+    private FoundKeywords() {}
+
+    // ✅ helper: trim + lowercase + unique
+    public static List<String> normalizeKeywords(List<String> keywords) {
+        if (keywords == null) return List.of();
+        Set<String> uniq = new LinkedHashSet<>();
+        for (String k : keywords) {
+            if (k == null) continue;
+            String v = k.trim().toLowerCase();
+            if (!v.isBlank()) uniq.add(v);
+        }
+        return uniq.stream().collect(Collectors.toList());
+    }
+
+    /** Current keywords followed by the extra ones, normalized. */
+    public static List<String> merge(List<String> current, List<String> extra) {
+        List<String> all = new ArrayList<>(current == null ? List.of() : current);
+        all.addAll(extra);
+        return normalizeKeywords(all);
+    }
+}
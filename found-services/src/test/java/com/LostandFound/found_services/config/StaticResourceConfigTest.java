@@ -0,0 +1,112 @@
+package com.LostandFound.found_services.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+@SpringJUnitWebConfig(StaticResourceConfigTest.Web.class)
+class StaticResourceConfigTest {
+
+    @Configuration
+    @EnableWebMvc
+    @Import(StaticResourceConfig.class)
+    static class Web {
+    }
+
+    static final String NAME = "55c64d0fcd6f9d5f7c828093857e3fdfda68478bb4e9bd24d481ef391c7804e8.jpg";
+
+    @TempDir static Path dir;
+
+    @DynamicPropertySource
+    static void uploads(DynamicPropertyRegistry registry) {
+        registry.add("found.uploads.dir", () -> dir.toString());
+    }
+
+    @Autowired WebApplicationContext context;
+
+    MockMvc mvc;
+    byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+        content = "0123456789".repeat(10_000).getBytes(StandardCharsets.US_ASCII);
+        Path file = dir.resolve("55/c6/" + NAME);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+    }
+
+    @Test
+    void get_sendsTheFile_cacheableForeverWithAStrongEtag() throws Exception {
+        byte[] body = mvc.perform(get("/uploads/55/c6/" + NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + NAME + "\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", content.length))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(body).isEqualTo(content);
+    }
+
+    @Test
+    void get_onTomcatWithSendfile_leavesTheBytesToTheConnector() throws Exception {
+        Path file = dir.resolve("55/c6/" + NAME);
+        mvc.perform(get("/uploads/55/c6/" + NAME).header("Range", "bytes=100-")
+                        .requestAttr("org.apache.tomcat.sendfile.support", true))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().longValue("Content-Length", content.length - 100))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", file.toString()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 100L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", (long) content.length))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void get_withMatchingEtag_isNotModified() throws Exception {
+        mvc.perform(get("/uploads/55/c6/" + NAME).header("If-None-Match", "\"" + NAME + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void get_withRange_sendsOnlyThoseBytes() throws Exception {
+        mvc.perform(get("/uploads/55/c6/" + NAME).header("Range", "bytes=3-7"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 3-7/" + content.length))
+                .andExpect(content().bytes("34567".getBytes(StandardCharsets.US_ASCII)));
+
+        mvc.perform(get("/uploads/55/c6/" + NAME).header("Range", "bytes=-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range",
+                        "bytes " + (content.length - 4) + "-" + (content.length - 1) + "/" + content.length))
+                .andExpect(content().bytes("6789".getBytes(StandardCharsets.US_ASCII)));
+
+        mvc.perform(get("/uploads/55/c6/" + NAME).header("Range", "bytes=" + content.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    void get_missingFile_isNotFound() throws Exception {
+        mvc.perform(get("/uploads/00/00/missing.jpg"))
+                .andExpect(status().isNotFound());
+    }
+}
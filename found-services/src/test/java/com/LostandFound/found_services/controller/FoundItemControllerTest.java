@@ -1,13 +1,20 @@
 package com.LostandFound.found_services.controller;
 
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.LostandFound.found_services.model.FoundItem;
+import com.LostandFound.found_services.model.FoundItemChangeFeed;
+import org.springframework.data.domain.Limit;
 import com.LostandFound.found_services.repo.FoundItemRepository;
+import com.LostandFound.found_services.service.FoundImageProcessor;
+import com.LostandFound.found_services.service.FoundItemChangeLog;
+import com.LostandFound.found_services.service.ImageStore;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -20,6 +27,9 @@ class FoundItemControllerTest {
     @Autowired MockMvc mvc;
 
     @MockBean FoundItemRepository repo;
+    @MockBean FoundItemChangeLog changeLog;
+    @MockBean FoundImageProcessor imageProcessor;
+    @MockBean ImageStore images;
 
     @Test
     void health_returnsOk() throws Exception {
@@ -43,4 +53,59 @@ class FoundItemControllerTest {
            .andExpect(jsonPath("$[0].title").value("Wallet"))
            .andExpect(jsonPath("$[0].status").value("AVAILABLE"));
     }
+
+    @Test
+    void changes_returnsFeedPage() throws Exception {
+        FoundItem a = new FoundItem();
+        a.setId("1");
+        a.setTitle("Wallet");
+
+        when(changeLog.feed(5L, 500, null)).thenReturn(new FoundItemChangeFeed(List.of(a), List.of("2"), 7L, false));
+
+        mvc.perform(get("/found-items/changes").param("after", "5"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.items[0].id").value("1"))
+           .andExpect(jsonPath("$.deleted[0]").value("2"))
+           .andExpect(jsonPath("$.cursor").value(7))
+           .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void page_returnsNextCursor_onlyWhenPageIsFull() throws Exception {
+        FoundItem a = new FoundItem();
+        a.setId("a");
+        FoundItem b = new FoundItem();
+        b.setId("b");
+
+        when(repo.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(a, b));
+        when(repo.findByIdGreaterThanOrderByIdAsc("b", Limit.of(2))).thenReturn(List.of());
+
+        mvc.perform(get("/found-items/page").param("limit", "2"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.items[1].id").value("b"))
+           .andExpect(jsonPath("$.next").value("b"));
+
+        mvc.perform(get("/found-items/page").param("after", "b").param("limit", "2"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.items").isEmpty())
+           .andExpect(jsonPath("$.next").doesNotExist());
+
+        mvc.perform(get("/found-items/page").param("limit", "5000"))
+           .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void delete_releasesThePhotoAfterRemovingTheItem() throws Exception {
+        FoundItem a = new FoundItem();
+        a.setId("1");
+        a.setImagePath("/uploads/ab/cd/abcd.jpg");
+        when(repo.findById("1")).thenReturn(Optional.of(a));
+
+        mvc.perform(delete("/found-items/1"))
+           .andExpect(status().isNoContent());
+
+        var order = inOrder(changeLog, images);
+        order.verify(changeLog).delete("1");
+        order.verify(images).release("/uploads/ab/cd/abcd.jpg");
+    }
 }
@@ -3,7 +3,13 @@ package com.LostandFound.found_services.repo;
 import com.LostandFound.found_services.model.FoundItem;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -11,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 class FoundItemRepositoryTest {
 
     @Autowired FoundItemRepository repo;
+    @Autowired TestEntityManager em;
 
     @Test
     void save_and_find() {
@@ -23,4 +30,75 @@ class FoundItemRepositoryTest {
         assertThat(saved.getId()).isNotNull();
         assertThat(repo.findById(saved.getId())).isPresent();
     }
+
+    @Test
+    void keysetPages_visitEveryItemOnceInIdOrder() {
+        for (int i = 0; i < 5; i++) {
+            FoundItem item = new FoundItem();
+            item.setTitle("Item " + i);
+            repo.save(item);
+        }
+
+        List<String> seen = new ArrayList<>();
+        List<FoundItem> page = repo.findAllByOrderByIdAsc(Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(i -> seen.add(i.getId()));
+            page = repo.findByIdGreaterThanOrderByIdAsc(seen.get(seen.size() - 1), Limit.of(2));
+        }
+
+        List<String> all = repo.findAll().stream().map(FoundItem::getId).sorted(Comparator.naturalOrder()).toList();
+        assertThat(seen).containsExactlyElementsOf(all);
+    }
+
+    @Test
+    void findPageByStatus_skipsResolvedItems() {
+        FoundItem open = new FoundItem();
+        open.setTitle("Open");
+        open.setStatus("AVAILABLE");
+        FoundItem claimed = new FoundItem();
+        claimed.setTitle("Claimed");
+        claimed.setStatus("CLAIMED");
+        repo.saveAll(List.of(open, claimed));
+
+        List<FoundItem> page = repo.findPageByStatus(List.of("AVAILABLE"), "", Limit.of(10));
+
+        assertThat(page).extracting(FoundItem::getTitle).contains("Open").doesNotContain("Claimed");
+    }
+
+    @Test
+    void findPageByStatus_pagesThroughAMixOfStatuses_includingBackfilledOnes() {
+        List<String> statuses = List.of("AVAILABLE", "CLAIMED", "AVAILABLE", "RETURNED", "AVAILABLE", "CLAIMED", "AVAILABLE");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < statuses.size(); i++) {
+            FoundItem item = new FoundItem();
+            item.setTitle("Item " + i);
+            item.setStatus(statuses.get(i));
+            String id = repo.save(item).getId();
+            if (statuses.get(i).equals("AVAILABLE")) expected.add(id);
+        }
+        // a row from before items always got a status
+        em.getEntityManager()
+                .createNativeQuery("insert into found_items (id, title, status) values ('legacy', 'Legacy', null)")
+                .executeUpdate();
+        expected.add("legacy");
+        expected.sort(Comparator.naturalOrder());
+
+        assertThat(repo.backfillStatus()).isEqualTo(1);
+
+        List<String> seen = new ArrayList<>();
+        List<FoundItem> page = repo.findPageByStatus(List.of("AVAILABLE"), "", Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(i -> seen.add(i.getId()));
+            page = repo.findPageByStatus(List.of("AVAILABLE"), seen.get(seen.size() - 1), Limit.of(2));
+        }
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void save_withoutStatus_storesTheDefault() {
+        FoundItem item = new FoundItem();
+        item.setTitle("No status");
+
+        assertThat(repo.saveAndFlush(item).getStatus()).isEqualTo("AVAILABLE");
+    }
 }
@@ -0,0 +1,42 @@
+package com.LostandFound.found_services.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+class ColorKeywordsTest {
+
+    @Test
+    void solidColours_getTheirNames() {
+        assertThat(ColorKeywords.of(solid(new Color(15, 15, 20)))).containsExactly("black");
+        assertThat(ColorKeywords.of(solid(new Color(245, 245, 245)))).containsExactly("white");
+        assertThat(ColorKeywords.of(solid(new Color(30, 60, 200)))).containsExactly("blue");
+        assertThat(ColorKeywords.of(solid(new Color(240, 130, 190)))).containsExactly("pink");
+        assertThat(ColorKeywords.of(solid(new Color(110, 60, 20)))).containsExactly("brown");
+    }
+
+    @Test
+    void itemInTheMiddle_outweighsTheBackground() {
+        // white table, red wallet covering a bit over a third of the frame
+        BufferedImage img = solid(Color.WHITE);
+        Graphics2D g = img.createGraphics();
+        g.setColor(new Color(200, 20, 30));
+        g.fillRect(20, 20, 60, 60);
+        g.dispose();
+
+        assertThat(ColorKeywords.of(img)).containsExactly("red", "white");
+    }
+
+    private static BufferedImage solid(Color color) {
+        BufferedImage img = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, 100, 100);
+        g.dispose();
+        return img;
+    }
+}
@@ -0,0 +1,65 @@
+package com.LostandFound.found_services.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import com.LostandFound.found_services.model.FoundItem;
+import com.LostandFound.found_services.repo.FoundItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = "found.changes.settle-ms=0")
+@Import({FoundItemChangeLog.class, FoundImageProcessor.class})
+class FoundImageProcessorTest {
+
+    @Autowired FoundImageProcessor processor;
+    @Autowired FoundItemChangeLog changeLog;
+    @Autowired FoundItemRepository repo;
+
+    @TempDir Path dir;
+
+    @Test
+    void process_writesThumbnails_addsHashAndColours_andRecordsAChange() throws Exception {
+        BufferedImage img = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(new Color(30, 60, 200));
+        g.fillRect(0, 0, 1600, 1200);
+        g.dispose();
+        Path photo = dir.resolve("wallet.png");
+        ImageIO.write(img, "png", photo.toFile());
+
+        FoundItem item = new FoundItem();
+        item.setTitle("Wallet");
+        item.setImagePath("/uploads/wallet.png");
+        item.setKeywords(List.of("wallet"));
+        String id = changeLog.save(item).getId();
+        long before = changeLog.head();
+
+        processor.process(id, photo);
+
+        FoundItem stored = repo.findById(id).orElseThrow();
+        // the colour is added next to the keyword the item already had
+        assertThat(stored.getKeywords()).containsExactlyInAnyOrder("wallet", "blue");
+        assertThat(stored.getTitle()).isEqualTo("Wallet");
+        assertThat(stored.getImageHash()).isNotNull();
+        assertThat(stored.getThumbnailPath()).isEqualTo("/uploads/thumbs/wallet-160.jpg");
+        assertThat(stored.getLargeThumbnailPath()).isEqualTo("/uploads/thumbs/wallet-640.jpg");
+        assertThat(ImageIO.read(dir.resolve("thumbs/wallet-160.jpg").toFile()).getWidth()).isEqualTo(160);
+        assertThat(ImageIO.read(dir.resolve("thumbs/wallet-640.jpg").toFile()).getHeight()).isEqualTo(480);
+        assertThat(changeLog.head()).isGreaterThan(before);
+
+        // nothing new the second time
+        processor.process(id, photo);
+        assertThat(changeLog.head()).isEqualTo(before + 1);
+    }
+}
@@ -0,0 +1,128 @@
+package com.LostandFound.found_services.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import com.LostandFound.found_services.model.FoundItem;
+import com.LostandFound.found_services.model.FoundItemChange;
+import com.LostandFound.found_services.model.FoundItemChangeFeed;
+import com.LostandFound.found_services.repo.FoundItemChangeRepository;
+import com.LostandFound.found_services.repo.FoundItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+@DataJpaTest(properties = "found.changes.settle-ms=0")
+@Import(FoundItemChangeLog.class)
+class FoundItemChangeLogTest {
+
+    @Autowired FoundItemChangeLog changeLog;
+    @Autowired FoundItemRepository repo;
+    @Autowired FoundItemChangeRepository changes;
+    @Autowired ApplicationEventPublisher events;
+    @Autowired TestEntityManager em;
+
+    @Test
+    void feed_returnsChangesAfterCursor_withTombstones() {
+        long start = changeLog.head();
+
+        FoundItem wallet = changeLog.save(item("Wallet"));
+        FoundItem phone = changeLog.save(item("Phone"));
+        wallet.setDescription("black leather");
+        changeLog.save(wallet);
+        changeLog.delete(phone.getId());
+
+        FoundItemChangeFeed feed = changeLog.feed(start, 100);
+
+        assertThat(feed.items()).extracting(FoundItem::getId).containsExactly(wallet.getId());
+        assertThat(feed.items().get(0).getDescription()).isEqualTo("black leather");
+        assertThat(feed.deleted()).containsExactly(phone.getId());
+        assertThat(feed.cursor()).isEqualTo(changeLog.head());
+        assertThat(feed.hasMore()).isFalse();
+
+        assertThat(changeLog.feed(feed.cursor(), 100).items()).isEmpty();
+    }
+
+    @Test
+    void feed_pagesByLimit() {
+        long start = changeLog.head();
+        changeLog.save(item("A"));
+        changeLog.save(item("B"));
+        changeLog.save(item("C"));
+
+        FoundItemChangeFeed first = changeLog.feed(start, 2);
+        FoundItemChangeFeed second = changeLog.feed(first.cursor(), 2);
+
+        assertThat(first.items()).extracting(FoundItem::getTitle).containsExactly("A", "B");
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.items()).extracting(FoundItem::getTitle).containsExactly("C");
+        assertThat(second.hasMore()).isFalse();
+    }
+
+    @Test
+    void feedAndHead_leaveOutChangesYoungerThanTheSettleDelay() {
+        long start = changeLog.head();
+        changeLog.save(item("A"));
+        changeLog.save(item("B"));
+
+        // an earlier seq may still be uncommitted; nothing this fresh is handed out yet
+        FoundItemChangeLog settling = new FoundItemChangeLog(repo, changes, events, 60_000, 604_800_000);
+
+        assertThat(settling.head()).isEqualTo(start);
+        FoundItemChangeFeed feed = settling.feed(start, 100);
+        assertThat(feed.items()).isEmpty();
+        assertThat(feed.cursor()).isEqualTo(start);
+        assertThat(feed.hasMore()).isFalse();
+    }
+
+    @Test
+    void prune_dropsDeliveredRows_andRejectsCursorsFromBeforeThem() {
+        long start = changeLog.head();
+        changeLog.save(item("A"));
+        changeLog.save(item("B"));
+        FoundItem c = changeLog.save(item("C"));
+        List<Long> seqs = changes.findBySeqGreaterThanOrderBySeqAsc(start, Limit.of(10)).stream()
+                .map(FoundItemChange::getSeq)
+                .toList();
+        changes.markDispatched(seqs.subList(0, 2));
+
+        FoundItemChangeLog expiring = new FoundItemChangeLog(repo, changes, events, 0, 0);
+
+        // C was not delivered yet, so it and everything after it stays
+        assertThat(expiring.prune()).isEqualTo(2);
+        em.clear();
+        assertThat(changes.findAll()).extracting(FoundItemChange::getSeq).containsExactly(seqs.get(2));
+
+        assertThatThrownBy(() -> changeLog.feed(start, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(changeLog.feed(seqs.get(1), 100).items())
+                .extracting(FoundItem::getId).containsExactly(c.getId());
+    }
+
+    private static FoundItem item(String title) {
+        FoundItem item = new FoundItem();
+        item.setTitle(title);
+        item.setStatus("AVAILABLE");
+        return item;
+    }
+
+    @Test
+    void feed_withStatusFilter_reportsItemsThatLeftTheStatusAsDeleted() {
+        long start = changeLog.head();
+        FoundItem wallet = changeLog.save(item("Wallet"));
+        FoundItem phone = changeLog.save(item("Phone"));
+        phone.setStatus("CLAIMED");
+        changeLog.save(phone);
+
+        FoundItemChangeFeed feed = changeLog.feed(start, 100, List.of("AVAILABLE"));
+
+        assertThat(feed.items()).extracting(FoundItem::getId).containsExactly(wallet.getId());
+        assertThat(feed.deleted()).containsExactly(phone.getId());
+    }
+}
@@ -0,0 +1,87 @@
+package com.LostandFound.found_services.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.LostandFound.found_services.model.FoundItem;
+import com.LostandFound.found_services.repo.FoundItemChangeRepository;
+import com.LostandFound.found_services.repo.FoundItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestClient;
+
+@DataJpaTest
+@Import(FoundItemChangeLog.class)
+class FoundItemEventDispatcherTest {
+
+    private static final String URL = "http://matching/matches/events";
+
+    @Autowired FoundItemChangeLog changeLog;
+    @Autowired FoundItemChangeRepository changes;
+    @Autowired FoundItemRepository repo;
+    @Autowired PlatformTransactionManager txManager;
+
+    MockRestServiceServer server;
+    FoundItemEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        dispatcher = new FoundItemEventDispatcher(changes, repo, txManager, builder, URL);
+    }
+
+    @Test
+    void drain_sendsPendingChangesInOrder_andMarksThemDispatched() {
+        FoundItem wallet = changeLog.save(item("Wallet"));
+        FoundItem phone = changeLog.save(item("Phone"));
+        changeLog.delete(phone.getId());
+
+        server.expect(requestTo(URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].source").value("FOUND"))
+                .andExpect(jsonPath("$[0].itemId").value(wallet.getId()))
+                .andExpect(jsonPath("$[0].item.title").value("Wallet"))
+                // phone is gone by the time we dispatch, so both its rows go out as deletes
+                .andExpect(jsonPath("$[1].type").value("DELETE"))
+                .andExpect(jsonPath("$[2].type").value("DELETE"))
+                .andRespond(withSuccess());
+
+        dispatcher.drain();
+
+        server.verify();
+        assertThat(changes.findByDispatchedFalseOrderBySeqAsc(Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    void drain_keepsChangesPending_whenMatchingServiceRejects() {
+        changeLog.save(item("Wallet"));
+
+        server.expect(requestTo(URL)).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        dispatcher.drain();
+
+        server.verify();
+        assertThat(changes.findByDispatchedFalseOrderBySeqAsc(Limit.of(10))).hasSize(1);
+    }
+
+    private static FoundItem item(String title) {
+        FoundItem item = new FoundItem();
+        item.setTitle(title);
+        item.setStatus("AVAILABLE");
+        return item;
+    }
+}
@@ -0,0 +1,92 @@
+package com.LostandFound.found_services.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.LostandFound.found_services.repo.StoredImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImageStoreTest {
+
+    @Autowired StoredImageRepository rows;
+    @Autowired PlatformTransactionManager txManager;
+
+    @TempDir Path tmp;
+
+    Path dir;
+
+    ImageStore store;
+
+    @BeforeEach
+    void setUp() {
+        rows.deleteAll();
+        dir = tmp.resolve("uploads");
+        store = new ImageStore(rows, txManager, "/uploads", dir.toString());
+    }
+
+    @Test
+    void store_shardsByContentHash_andKeepsDuplicatesOnce() throws Exception {
+        ImageStore.Stored first = store.store(content("photo"), ".JPG");
+        ImageStore.Stored second = store.store(content("photo"), ".png");
+
+        String hash = "55c64d0fcd6f9d5f7c828093857e3fdfda68478bb4e9bd24d481ef391c7804e8"; // sha256("photo")
+        assertThat(first.url()).isEqualTo("/uploads/55/c6/" + hash + ".jpg");
+        assertThat(second).isEqualTo(first);
+        assertThat(Files.readString(first.file())).isEqualTo("photo");
+        assertThat(rows.findById(hash).orElseThrow().getRefs()).isEqualTo(2);
+        // temp files live next to the served directory, not in it
+        assertThat(dir.resolve("tmp")).doesNotExist();
+        assertThat(tmp.resolve("uploads.tmp")).isEmptyDirectory();
+    }
+
+    @Test
+    void release_deletesTheFileAndThumbnails_withTheLastReference() throws Exception {
+        ImageStore.Stored a = store.store(content("photo"), ".jpg");
+        store.store(content("photo"), ".jpg");
+        Path thumb = Files.createDirectories(a.file().getParent().resolve("thumbs"))
+                .resolve(a.file().getFileName().toString().replace(".jpg", "-160.jpg"));
+        Files.writeString(thumb, "thumb");
+
+        store.release(a.url());
+        assertThat(a.file()).exists();
+        assertThat(thumb).exists();
+
+        store.release(a.url());
+        assertThat(a.file()).doesNotExist();
+        assertThat(thumb).doesNotExist();
+        assertThat(rows.count()).isZero();
+    }
+
+    @Test
+    void release_deletesLegacyFiles_andIgnoresPathsOutsideTheStore() throws Exception {
+        Path legacy = Files.writeString(Files.createDirectories(dir).resolve("0b1c.jpg"), "old");
+        Path outside = Files.writeString(dir.getParent().resolve(dir.getFileName() + "-secret.txt"), "keep");
+        try {
+            store.release("/uploads/0b1c.jpg");
+            store.release("/uploads/../" + outside.getFileName());
+            store.release("/elsewhere/0b1c.jpg");
+
+            assertThat(legacy).doesNotExist();
+            assertThat(outside).exists();
+        } finally {
+            Files.deleteIfExists(outside);
+        }
+    }
+
+    private static ByteArrayInputStream content(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
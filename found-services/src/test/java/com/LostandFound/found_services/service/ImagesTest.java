@@ -0,0 +1,83 @@
+package com.LostandFound.found_services.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImagesTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void readSampled_subsamplesLargeImages_andReturnsNullForNonImages() throws Exception {
+        Path png = dir.resolve("big.png");
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB), "png", png.toFile());
+        Path text = dir.resolve("notes.jpg");
+        Files.writeString(text, "not an image");
+
+        BufferedImage sampled = Images.readSampled(png, 640);
+        assertThat(sampled.getWidth()).isBetween(640, 1280);
+        assertThat(Images.readSampled(text, 640)).isNull();
+    }
+
+    @Test
+    void exifOrientation_isAppliedAndNotCopiedIntoThumbnails() throws Exception {
+        // 200x100, red in the top-left corner, stored sideways (orientation 6)
+        BufferedImage img = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 20, 20);
+        g.dispose();
+        Path photo = dir.resolve("phone.jpg");
+        Files.write(photo, withOrientation(jpeg(img), 6));
+
+        assertThat(Images.orientation(photo)).isEqualTo(6);
+        BufferedImage upright = Images.orient(Images.readSampled(photo, 640), 6);
+        assertThat(upright.getWidth()).isEqualTo(100);
+        assertThat(upright.getHeight()).isEqualTo(200);
+        assertThat(new Color(upright.getRGB(90, 10)).getRed()).isGreaterThan(150); // top-left went top-right
+
+        Path thumb = dir.resolve("thumbs/phone-160.jpg");
+        Images.writeJpeg(Images.fit(upright, 160), thumb);
+        BufferedImage small = ImageIO.read(thumb.toFile());
+        assertThat(small.getWidth()).isEqualTo(80);
+        assertThat(small.getHeight()).isEqualTo(160);
+        assertThat(Images.orientation(thumb)).isEqualTo(1);
+        assertThat(new String(Files.readAllBytes(thumb), StandardCharsets.ISO_8859_1)).doesNotContain("Exif");
+    }
+
+    private static byte[] jpeg(BufferedImage img) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    // inserts an APP1 Exif segment holding only the orientation tag right after SOI
+    private static byte[] withOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(26);
+        tiff.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        tiff.putInt(0);
+
+        byte[] exif = "Exif\0\0".getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer out = ByteBuffer.allocate(jpeg.length + 4 + exif.length + tiff.capacity());
+        out.put(jpeg, 0, 2);
+        out.putShort((short) 0xFFE1).putShort((short) (2 + exif.length + tiff.capacity()));
+        out.put(exif).put(tiff.array());
+        out.put(jpeg, 2, jpeg.length - 2);
+        return out.array();
+    }
+}
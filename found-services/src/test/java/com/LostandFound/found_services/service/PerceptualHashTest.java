@@ -0,0 +1,50 @@
+package com.LostandFound.found_services.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+class PerceptualHashTest {
+
+    @Test
+    void resizedCopy_staysClose_otherPhotoIsFar() throws Exception {
+        BufferedImage photo = scene(640, 480, false);
+        BufferedImage small = resize(photo, 160, 120);
+        BufferedImage other = scene(640, 480, true);
+
+        long hash = PerceptualHash.dHash(photo);
+        assertThat(Long.bitCount(hash ^ PerceptualHash.dHash(small))).isLessThanOrEqualTo(4);
+        assertThat(Long.bitCount(hash ^ PerceptualHash.dHash(other))).isGreaterThan(16);
+    }
+
+    // diagonal gradient with a dark block; mirrored draws it the other way round
+    private static BufferedImage scene(int w, int h, boolean mirrored) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int px = mirrored ? w - 1 - x : x;
+                int v = 255 * (px + y) / (w + h);
+                img.setRGB(x, y, new Color(v, v / 2, 255 - v).getRGB());
+            }
+        }
+        Graphics2D g = img.createGraphics();
+        g.setColor(Color.BLACK);
+        g.fillRect(mirrored ? w / 2 : w / 8, h / 3, w / 4, h / 3);
+        g.dispose();
+        return img;
+    }
+
+    private static BufferedImage resize(BufferedImage src, int w, int h) {
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return out;
+    }
+}
@@ -4,7 +4,7 @@ import { Badge } from "@/components/ui/badge";
 import { Button } from "@/components/ui/button";
 import { Card } from "@/components/ui/card";
 import { Input } from "@/components/ui/input";
-import { API_BASE, apiFetch } from "@/lib/api";
+import { API_BASE, apiFetch, photoUrl } from "@/lib/api";
 import { getSession } from "@/lib/auth";
 import { useEffect, useMemo, useState } from "react";
 
@@ -15,6 +15,8 @@ type FoundItem = {
   location?: string | null;
   status?: string | null;
   imagePath?: string | null;
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
   keywords?: string[] | null;
 };
 
@@ -33,7 +35,7 @@ function ProgressBar({ pct }: { pct: number }) {
 }
 
 function FoundDetailsModal({ item, onClose }: { item: FoundItem; onClose: () => void }) {
-  const img = item.imagePath ? `${API_BASE}${item.imagePath}` : null;
+  const img = photoUrl(item, "large");
 
   return (
     <div className="fixed inset-0 z-50 bg-black/40 flex items-center justify-center p-4" onClick={onClose}>
@@ -416,6 +418,9 @@ export function AdminFoundItems() {
                 onChange={(e) => setKeywords(e.target.value)}
                 placeholder="black, wallet, id, library"
               />
+              <div className="text-xs text-muted-foreground">
+                Colours in the photo (black, blue, pink…) are added automatically after upload.
+              </div>
             </div>
           </div>
 
@@ -460,7 +465,7 @@ export function AdminFoundItems() {
 
       <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-4">
         {items.map((it) => {
-          const img = it.imagePath ? `${API_BASE}${it.imagePath}` : null;
+          const img = photoUrl(it);
 
           return (
             <Card
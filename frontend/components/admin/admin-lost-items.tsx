@@ -1,7 +1,7 @@
 "use client";
 
 import { Card } from "@/components/ui/card";
-import { API_BASE, apiFetch } from "@/lib/api";
+import { apiFetch, photoUrl } from "@/lib/api";
 import { useEffect, useState } from "react";
 
 type LostItem = {
@@ -11,6 +11,8 @@ type LostItem = {
   location?: string | null;
   createdAt?: string;
   imagePath?: string | null; // ✅ add this
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
 };
 
 export function AdminLostItems() {
@@ -54,7 +56,7 @@ export function AdminLostItems() {
 
       <div className="space-y-3">
         {items.map((it) => {
-          const img = it.imagePath ? `${API_BASE}${it.imagePath}` : null;
+          const img = photoUrl(it);
 
           return (
             <Card key={it.id} className="p-4">
@@ -1,7 +1,7 @@
 "use client";
 
 import { Card } from "@/components/ui/card";
-import { API_BASE, apiFetch } from "@/lib/api";
+import { apiFetch, apiFetchPage, photoUrl } from "@/lib/api";
 import { useEffect, useState } from "react";
 
 type Match = {
@@ -13,12 +13,36 @@ type Match = {
   reason?: string | null;
 };
 
+type MatchingRun = {
+  id: string;
+  state: "QUEUED" | "RUNNING" | "SUCCEEDED" | "SKIPPED" | "FAILED";
+  phase?: string | null;
+  pairsScored: number;
+  matchesCreated: number;
+  phaseMillis: Record<string, number>;
+  error?: string | null;
+};
+
+const RUN_POLL_MS = 1000;
+const PAGE_SIZE = 50;
+
+function runProgress(run: MatchingRun) {
+  const phases = Object.entries(run.phaseMillis)
+    .map(([name, ms]) => `${name} ${(ms / 1000).toFixed(1)}s`)
+    .join(", ");
+  return `${run.pairsScored} pairs scored, ${run.matchesCreated} new matches${
+    phases ? ` (${phases})` : ""
+  }`;
+}
+
 type FoundItem = {
   id: string;
   title: string;
   description?: string | null;
   location?: string | null;
   imagePath?: string | null;
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
 };
 
 type LostItem = {
@@ -26,6 +50,8 @@ type LostItem = {
   description?: string | null;
   location?: string | null;
   imagePath?: string | null;
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
 };
 
 /* ---------- SCORE BAR (out of 5) ---------- */
@@ -57,54 +83,89 @@ export function AdminMatches() {
   const [matches, setMatches] = useState<Match[]>([]);
   const [foundMap, setFoundMap] = useState<Record<string, FoundItem>>({});
   const [lostMap, setLostMap] = useState<Record<string, LostItem>>({});
+  const [next, setNext] = useState<string | null>(null);
   const [loading, setLoading] = useState(false);
   const [err, setErr] = useState<string | null>(null);
 
   const [running, setRunning] = useState(false);
   const [runMsg, setRunMsg] = useState<string | null>(null);
 
+  // looks up the found/lost items of a page of matches, skipping ones already loaded
+  const loadItems = async (
+    ms: Match[],
+    known: { found: Record<string, FoundItem>; lost: Record<string, LostItem> }
+  ) => {
+    // ---------- load found items ----------
+    const foundIds = [...new Set(ms.map((m) => m.foundItemId))].filter(
+      (id) => !known.found[id]
+    );
+    const foundResults = await Promise.all(
+      foundIds.map(async (id) => {
+        try {
+          const f = await apiFetch(`/found/found-items/${id}`);
+          return [id, f] as const;
+        } catch {
+          return [id, null] as const;
+        }
+      })
+    );
+
+    const fm: Record<string, FoundItem> = { ...known.found };
+    for (const [id, f] of foundResults) if (f) fm[id] = f;
+    setFoundMap(fm);
+
+    // ---------- load lost items ----------
+    // NOTE: if your lost-service doesn't support GET /lost-items/{id},
+    // replace this section with a single GET list and map-by-id.
+    const lostIds = [...new Set(ms.map((m) => m.lostItemId))].filter(
+      (id) => !known.lost[id]
+    );
+    const lostResults = await Promise.all(
+      lostIds.map(async (id) => {
+        try {
+          const l = await apiFetch(`/lost/lost-items/${id}`);
+          return [id, l] as const;
+        } catch {
+          return [id, null] as const;
+        }
+      })
+    );
+
+    const lm: Record<string, LostItem> = { ...known.lost };
+    for (const [id, l] of lostResults) if (l) lm[id] = l;
+    setLostMap(lm);
+  };
+
+  // first page of matches (best first); "Load more" follows the cursor
   const load = async () => {
     setLoading(true);
     setErr(null);
     try {
-      const ms: Match[] = await apiFetch("/match/matches", { method: "GET" });
-      setMatches(Array.isArray(ms) ? ms : []);
-
-      // ---------- load found items ----------
-      const foundIds = [...new Set(ms.map((m) => m.foundItemId))];
-      const foundResults = await Promise.all(
-        foundIds.map(async (id) => {
-          try {
-            const f = await apiFetch(`/found/found-items/${id}`);
-            return [id, f] as const;
-          } catch {
-            return [id, null] as const;
-          }
-        })
-      );
+      const page = await apiFetchPage<Match>(`/match/matches?limit=${PAGE_SIZE}`, {
+        method: "GET",
+      });
+      setMatches(page.items);
+      setNext(page.next);
+      await loadItems(page.items, { found: {}, lost: {} });
+    } catch (e: any) {
+      setErr(e.message || "Failed to load matches");
+    } finally {
+      setLoading(false);
+    }
+  };
 
-      const fm: Record<string, FoundItem> = {};
-      for (const [id, f] of foundResults) if (f) fm[id] = f;
-      setFoundMap(fm);
-
-      // ---------- load lost items ----------
-      // NOTE: if your lost-service doesn't support GET /lost-items/{id},
-      // replace this section with a single GET list and map-by-id.
-      const lostIds = [...new Set(ms.map((m) => m.lostItemId))];
-      const lostResults = await Promise.all(
-        lostIds.map(async (id) => {
-          try {
-            const l = await apiFetch(`/lost/lost-items/${id}`);
-            return [id, l] as const;
-          } catch {
-            return [id, null] as const;
-          }
-        })
+  const loadMore = async () => {
+    if (!next) return;
+    setLoading(true);
+    setErr(null);
+    try {
+      const page = await apiFetchPage<Match>(
+        `/match/matches?limit=${PAGE_SIZE}&after=${encodeURIComponent(next)}`,
+        { method: "GET" }
       );
-
-      const lm: Record<string, LostItem> = {};
-      for (const [id, l] of lostResults) if (l) lm[id] = l;
-      setLostMap(lm);
+      setMatches((prev) => [...prev, ...page.items]);
+      setNext(page.next);
+      await loadItems(page.items, { found: foundMap, lost: lostMap });
     } catch (e: any) {
       setErr(e.message || "Failed to load matches");
     } finally {
@@ -112,16 +173,25 @@ export function AdminMatches() {
     }
   };
 
+  // the run happens in the background; poll its status until it ends
   const runMatching = async () => {
     setRunning(true);
     setRunMsg(null);
     try {
-      const created = await apiFetch("/match/matches/run", { method: "POST" });
-      setRunMsg(
-        Array.isArray(created)
-          ? `Matching complete — ${created.length} new matches`
-          : "Matching complete"
-      );
+      let run: MatchingRun = await apiFetch("/match/matches/run", { method: "POST" });
+      while (run.state === "QUEUED" || run.state === "RUNNING") {
+        setRunMsg(`Matching ${run.phase ?? "queued"}… ${runProgress(run)}`);
+        await new Promise((r) => setTimeout(r, RUN_POLL_MS));
+        run = await apiFetch(`/match/matches/runs/${run.id}`);
+      }
+
+      if (run.state === "SUCCEEDED") {
+        setRunMsg(`Matching complete — ${runProgress(run)}`);
+      } else if (run.state === "SKIPPED") {
+        setRunMsg(run.error || "Matching skipped: another instance is running it");
+      } else {
+        setRunMsg(run.error || "Matching failed");
+      }
       await load();
     } catch (e: any) {
       setRunMsg(e.message || "Failed to run matching");
@@ -139,7 +209,9 @@ export function AdminMatches() {
       {/* HEADER */}
       <div className="flex items-center justify-between gap-3">
         <p className="text-muted-foreground">
-          {loading ? "Loading…" : `${matches.length} matches`}
+          {loading
+            ? "Loading…"
+            : `${matches.length}${next ? "+" : ""} matches`}
         </p>
 
         <div className="flex gap-2">
@@ -177,8 +249,8 @@ export function AdminMatches() {
           const found = foundMap[m.foundItemId];
           const lost = lostMap[m.lostItemId];
 
-          const foundImg = found?.imagePath ? `${API_BASE}${found.imagePath}` : null;
-          const lostImg = lost?.imagePath ? `${API_BASE}${lost.imagePath}` : null;
+          const foundImg = photoUrl(found);
+          const lostImg = photoUrl(lost);
 
           return (
             <Card key={m.id} className="p-4">
@@ -258,6 +330,18 @@ export function AdminMatches() {
           );
         })}
       </div>
+
+      {next && (
+        <div className="flex justify-center">
+          <button
+            onClick={loadMore}
+            disabled={loading}
+            className="rounded-md border px-3 py-1 text-sm border-border hover:bg-muted disabled:opacity-50"
+          >
+            {loading ? "Loading…" : "Load more"}
+          </button>
+        </div>
+      )}
     </div>
   );
 }
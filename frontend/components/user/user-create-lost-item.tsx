@@ -2,7 +2,7 @@
 
 import { Button } from "@/components/ui/button";
 import { Input } from "@/components/ui/input";
-import { API_BASE } from "@/lib/api";
+import { API_BASE, apiFetch, photoUrl } from "@/lib/api";
 import { useEffect, useState } from "react";
 
 type LostItem = {
@@ -12,6 +12,18 @@ type LostItem = {
   location?: string | null;
   createdAt?: string;
   imagePath?: string | null;
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
+};
+
+type PreviewItem = {
+  id: string;
+  score: number;
+  description?: string | null;
+  location?: string | null;
+  imagePath?: string | null;
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
 };
 
 type LostCacheItem = {
@@ -89,6 +101,9 @@ export function UserCreateLostItem({ username }: { username: string }) {
   const [msg, setMsg] = useState<string | null>(null);
   const [err, setErr] = useState<string | null>(null);
 
+  // found items the draft already matches
+  const [preview, setPreview] = useState<PreviewItem[]>([]);
+
   // my items list
   const [myItems, setMyItems] = useState<LostItem[]>([]);
   const [myLoading, setMyLoading] = useState(false);
@@ -104,6 +119,46 @@ export function UserCreateLostItem({ username }: { username: string }) {
     return () => URL.revokeObjectURL(url);
   }, [image]);
 
+  // Ask for matches once typing pauses; a newer draft cancels the older request
+  useEffect(() => {
+    const desc = description.trim();
+    if (desc.length < 3) {
+      setPreview([]);
+      return;
+    }
+
+    const ctrl = new AbortController();
+    const timer = setTimeout(async () => {
+      try {
+        const hits = (await apiFetch("/match/matches/preview", {
+          method: "POST",
+          body: JSON.stringify({ description: desc, location: location.trim() || null, limit: 5 }),
+          signal: ctrl.signal,
+        })) as { foundItemId: string; score: number }[];
+
+        const items = await Promise.all(
+          (hits ?? []).map(async (h) => {
+            try {
+              const f = await apiFetch(`/found/found-items/${h.foundItemId}`, { method: "GET", signal: ctrl.signal });
+              return { ...f, id: h.foundItemId, score: h.score } as PreviewItem;
+            } catch {
+              return { id: h.foundItemId, score: h.score } as PreviewItem;
+            }
+          })
+        );
+        if (!ctrl.signal.aborted) setPreview(items);
+      } catch {
+        // preview is best effort
+        if (!ctrl.signal.aborted) setPreview([]);
+      }
+    }, 300);
+
+    return () => {
+      clearTimeout(timer);
+      ctrl.abort();
+    };
+  }, [description, location]);
+
   const loadMine = async () => {
     setMyLoading(true);
     setMyErr(null);
@@ -257,6 +312,31 @@ export function UserCreateLostItem({ username }: { username: string }) {
           )}
         </div>
 
+        {preview.length > 0 && (
+          <div className="space-y-2 rounded-md border border-border p-3">
+            <div className="text-sm font-medium">Already found? These items look similar:</div>
+            {preview.map((p) => {
+              const img = photoUrl(p);
+              return (
+                <div key={p.id} className="flex gap-3">
+                  <div className="w-20 h-14 shrink-0 rounded-md overflow-hidden bg-muted flex items-center justify-center">
+                    {img ? (
+                      <img src={img} alt="Found" className="w-full h-full object-cover" />
+                    ) : (
+                      <div className="text-xs text-muted-foreground">No photo</div>
+                    )}
+                  </div>
+                  <div className="flex-1 space-y-1">
+                    {p.location && <div className="text-xs text-muted-foreground">{p.location}</div>}
+                    <div className="text-sm">{p.description || p.id}</div>
+                    <div className="text-xs text-muted-foreground">Score: {p.score.toFixed(2)}</div>
+                  </div>
+                </div>
+              );
+            })}
+          </div>
+        )}
+
         {err && (
           <div className="rounded-md border border-destructive/40 bg-destructive/10 p-3 text-sm">
             {err}
@@ -294,7 +374,7 @@ export function UserCreateLostItem({ username }: { username: string }) {
 
         <div className="space-y-3">
           {myItems.map((it) => {
-            const img = it.imagePath ? `${API_BASE}${it.imagePath}` : null;
+            const img = photoUrl(it);
 
             return (
               <div key={it.id} className="rounded-lg border border-border p-4">
@@ -2,11 +2,9 @@
 
 import { Badge } from "@/components/ui/badge";
 import { Card } from "@/components/ui/card";
-import { apiFetch } from "@/lib/api";
+import { apiFetch, photoUrl } from "@/lib/api";
 import { useEffect, useState } from "react";
 
-const API_BASE = process.env.NEXT_PUBLIC_API_BASE ?? "http://localhost:8080";
-
 type FoundItem = {
   id: string;
   title: string;
@@ -14,6 +12,8 @@ type FoundItem = {
   location?: string | null;
   status?: string | null;
   imagePath?: string | null; // "/uploads/xxx.jpg"
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
   keywords?: string[] | null; // may exist only on details endpoint
 };
 
@@ -24,7 +24,7 @@ function FoundDetailsModal({
   item: FoundItem;
   onClose: () => void;
 }) {
-  const img = item.imagePath ? `${API_BASE}${item.imagePath}` : null;
+  const img = photoUrl(item, "large");
 
   return (
     <div
@@ -152,7 +152,7 @@ export function UserFoundItems() {
 
       <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-4">
         {items.map((it) => {
-          const img = it.imagePath ? `${API_BASE}${it.imagePath}` : null;
+          const img = photoUrl(it);
 
           return (
             <Card
@@ -1,7 +1,7 @@
 "use client";
 
 import { Card } from "@/components/ui/card";
-import { API_BASE, apiFetch } from "@/lib/api";
+import { API_BASE, apiFetch, apiFetchPage, photoUrl, streamEvents } from "@/lib/api";
 import { useEffect, useMemo, useState } from "react";
 
 type Match = {
@@ -21,6 +21,8 @@ type FoundItem = {
   location?: string | null;
   status?: string | null;
   imagePath?: string | null;
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
 };
 
 type LostItem = {
@@ -29,6 +31,8 @@ type LostItem = {
   location?: string | null;
   createdAt?: string;
   imagePath?: string | null;
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
 };
 
 type LostCacheItem = {
@@ -48,6 +52,9 @@ function readLostCache(): Record<string, LostCacheItem> {
   }
 }
 
+// largest page /matches/by-user serves
+const MATCH_PAGE_SIZE = 500;
+
 function readSessionToken(): string | null {
   try {
     const raw = localStorage.getItem("laf_session");
@@ -131,11 +138,18 @@ export function UserMyMatches({ username }: { username: string }) {
     setErr(null);
 
     try {
-      // ✅ 1) matches for this user (protected → use auth fetch)
-      const msRaw = await fetchJsonWithAuth(`/match/matches/by-user/${encodeURIComponent(username)}`, {
-        method: "GET",
-      });
-      const ms: Match[] = Array.isArray(msRaw) ? msRaw : [];
+      // ✅ 1) matches for this user (protected; paged, so follow the cursor to the end)
+      const ms: Match[] = [];
+      let after: string | null = null;
+      do {
+        const query: string = `limit=${MATCH_PAGE_SIZE}` + (after ? `&after=${encodeURIComponent(after)}` : "");
+        const page = await apiFetchPage<Match>(
+          `/match/matches/by-user/${encodeURIComponent(username)}?${query}`,
+          { method: "GET" }
+        );
+        ms.push(...page.items);
+        after = page.next;
+      } while (after);
       setMatches(ms);
 
       // local cache fallback (nice fallback for lost details)
@@ -178,6 +192,48 @@ export function UserMyMatches({ username }: { username: string }) {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, []);
 
+  // new matches arrive over the stream; reconnect (with a growing pause) when it drops
+  useEffect(() => {
+    const abort = new AbortController();
+
+    const onMatch = async (m: Match) => {
+      setMatches((prev) =>
+        prev.some((x) => x.id === m.id)
+          ? prev
+          : [m, ...prev].sort((a, b) => (Number(b.score) || 0) - (Number(a.score) || 0))
+      );
+      try {
+        const f = (await apiFetch(`/found/found-items/${m.foundItemId}`, { method: "GET" })) as FoundItem;
+        setFoundMap((prev) => ({ ...prev, [m.foundItemId]: f }));
+      } catch {
+        // shown without details until the next refresh
+      }
+    };
+
+    (async () => {
+      let pause = 1000;
+      while (!abort.signal.aborted) {
+        try {
+          await streamEvents(
+            `/match/matches/stream/${encodeURIComponent(username)}`,
+            (e) => {
+              if (e.event === "match") onMatch(JSON.parse(e.data) as Match);
+            },
+            abort.signal
+          );
+          // the server ends streams now and then; reconnect right away
+          pause = 1000;
+        } catch {
+          if (abort.signal.aborted) return;
+          pause = Math.min(pause * 2, 60000);
+        }
+        await new Promise((r) => setTimeout(r, pause));
+      }
+    })();
+
+    return () => abort.abort();
+  }, [username]);
+
   const rows = useMemo(() => matches, [matches]);
 
   return (
@@ -201,11 +257,10 @@ export function UserMyMatches({ username }: { username: string }) {
           const lost = lostMap[m.lostItemId];
           const lostFallback = lostCache[m.lostItemId];
 
-          const foundImg = found?.imagePath ? `${API_BASE}${found.imagePath}` : null;
+          const foundImg = photoUrl(found);
 
           // ✅ Use lostMap first, then cache
-          const lostImgPath = lost?.imagePath ?? lostFallback?.imagePath ?? null;
-          const lostImg = lostImgPath ? `${API_BASE}${lostImgPath}` : null;
+          const lostImg = photoUrl(lost?.imagePath ? lost : lostFallback);
 
           return (
             <Card key={m.id} className="p-4">
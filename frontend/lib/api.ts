@@ -4,7 +4,32 @@ import { getSession } from "./auth";
 export const API_BASE =
   process.env.NEXT_PUBLIC_API_BASE ?? "http://localhost:8080";
 
+type Photo = {
+  imagePath?: string | null;
+  thumbnailPath?: string | null;
+  largeThumbnailPath?: string | null;
+};
+
+// Photo URL for an item: a thumbnail once the service has made it, else the original
+export function photoUrl(item: Photo | null | undefined, size: "small" | "large" = "small") {
+  const path = (size === "large" ? item?.largeThumbnailPath : item?.thumbnailPath) ?? item?.imagePath;
+  return path ? `${API_BASE}${path}` : null;
+}
+
 export async function apiFetch(path: string, init: RequestInit = {}) {
+  return (await apiFetchResponse(path, init)).data;
+}
+
+// For keyset-paged lists: the page plus the cursor for the next one (null on the last page)
+export async function apiFetchPage<T>(path: string, init: RequestInit = {}) {
+  const { data, headers } = await apiFetchResponse(path, init);
+  return {
+    items: (Array.isArray(data) ? data : []) as T[],
+    next: headers.get("X-Next-Cursor"),
+  };
+}
+
+async function apiFetchResponse(path: string, init: RequestInit) {
   const session = getSession();
   const headers = new Headers(init.headers);
 
@@ -34,5 +59,58 @@ export async function apiFetch(path: string, init: RequestInit = {}) {
     throw new Error(msg);
   }
 
-  return data;
+  return { data, headers: res.headers };
+}
+
+export type StreamEvent = { event: string; id?: string; data: string };
+
+// Reads a Server-Sent Events stream with fetch (EventSource can't send the
+// Authorization header). Resolves when the server ends the stream; abort the
+// signal to stop early.
+export async function streamEvents(
+  path: string,
+  onEvent: (e: StreamEvent) => void,
+  signal: AbortSignal
+) {
+  const session = getSession();
+  const headers = new Headers({ Accept: "text/event-stream" });
+  if (session?.token) {
+    headers.set("Authorization", `Bearer ${session.token}`);
+  }
+
+  const res = await fetch(`${API_BASE}${path}`, { headers, signal });
+  if (!res.ok || !res.body) {
+    throw new Error(`Stream failed: ${res.status}`);
+  }
+
+  const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = "";
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) return;
+    buffer += value;
+
+    // events are separated by a blank line; lines starting with ":" are comments
+    let end;
+    while ((end = buffer.search(/\r?\n\r?\n/)) >= 0) {
+      const block = buffer.slice(0, end);
+      buffer = buffer.slice(end).replace(/^\r?\n\r?\n/, "");
+
+      const e: StreamEvent = { event: "message", data: "" };
+      const data: string[] = [];
+      for (const line of block.split(/\r?\n/)) {
+        if (!line || line.startsWith(":")) continue;
+        const colon = line.indexOf(":");
+        const field = colon < 0 ? line : line.slice(0, colon);
+        const val = colon < 0 ? "" : line.slice(colon + 1).replace(/^ /, "");
+        if (field === "event") e.event = val;
+        else if (field === "id") e.id = val;
+        else if (field === "data") data.push(val);
+      }
+      if (data.length) {
+        e.data = data.join("\n");
+        onEvent(e);
+      }
+    }
+  }
 }
@@ -0,0 +1,23 @@
+package com.LostandFound.lost_services.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.LostandFound.lost_services.repo.StoredImageRepository;
+import com.LostandFound.lost_services.service.ImageStore;
+
+@Configuration
+public class LostImageStoreConfig {
+
+    // public URLs of stored photos; LostStaticResourceConfig serves this prefix
+    public static final String URL_PREFIX = "/lost-uploads";
+
+    @Bean
+    public ImageStore imageStore(StoredImageRepository images,
+                                 PlatformTransactionManager txManager,
+                                 @Value("${lost.uploads.dir:lost-uploads}") String dir) {
+        return new ImageStore(images, txManager, URL_PREFIX, dir);
+    }
+}
@@ -2,15 +2,58 @@ package com.LostandFound.lost_services.config;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
+/**
+ * Serves uploaded photos. Their names are content hashes (UUIDs for photos from
+ * before the image store) and a name is never reused for other bytes, so
+ * responses are cacheable for a year as immutable and the name is a strong
+ * ETag. Spring's resource handler answers conditional requests (304) and byte
+ * ranges (206); the bytes themselves go out through {@link SendfileConverters}.
+ */
 @Configuration
-public class LostStaticResourceConfig implements WebMvcConfigurer {
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        Path uploadDir = Paths.get("lost-uploads").toAbsolutePath();
-        registry.addResourceHandler("/lost-uploads/**")
-                .addResourceLocations("file:" + uploadDir.toString() + "/");
+public class LostStaticResourceConfig {
+
+    // same directory ImageStore writes to
+    private final Path uploadDir;
+
+    public LostStaticResourceConfig(@Value("${lost.uploads.dir:lost-uploads}") String dir) {
+        this.uploadDir = Paths.get(dir).toAbsolutePath().normalize();
+    }
+
+    @Bean
+    public ResourceHttpRequestHandler lostUploadsResourceHandler() {
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setLocations(List.of(new FileSystemResource(uploadDir.toString() + "/")));
+        handler.setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+        handler.setEtagGenerator(LostStaticResourceConfig::etag);
+        handler.setResourceHttpMessageConverter(new SendfileConverters.Full());
+        handler.setResourceRegionHttpMessageConverter(new SendfileConverters.Region());
+        return handler;
+    }
+
+    @Bean
+    public SimpleUrlHandlerMapping lostUploadsHandlerMapping(ResourceHttpRequestHandler lostUploadsResourceHandler) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(
+                Map.of(LostImageStoreConfig.URL_PREFIX + "/**", lostUploadsResourceHandler));
+        // ahead of Boot's catch-all "/**" static resource mapping
+        mapping.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return mapping;
+    }
+
+    static String etag(Resource resource) {
+        return "\"" + resource.getFilename() + "\"";
     }
 }
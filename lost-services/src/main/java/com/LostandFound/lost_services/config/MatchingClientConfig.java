@@ -0,0 +1,24 @@
+package com.LostandFound.lost_services.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class MatchingClientConfig {
+
+    // resolves http://MATCHING-SERVICE/... through Eureka
+    @Bean
+    @LoadBalanced
+    public RestClient.Builder matchingRestClientBuilder(
+            @Value("${matching.events.timeout-ms:3000}") int timeoutMs
+    ) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(timeoutMs);
+        factory.setReadTimeout(timeoutMs);
+        return RestClient.builder().requestFactory(factory);
+    }
+}
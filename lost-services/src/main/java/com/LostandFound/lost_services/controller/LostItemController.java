@@ -1,30 +1,48 @@
 package com.LostandFound.lost_services.controller;
 
 import com.LostandFound.lost_services.model.LostItem;
+import com.LostandFound.lost_services.model.LostItemChangeFeed;
+import com.LostandFound.lost_services.model.LostItemPage;
 import com.LostandFound.lost_services.repo.LostItemRepository;
+import com.LostandFound.lost_services.service.ImageStore;
+import com.LostandFound.lost_services.service.LostImageProcessor;
+import com.LostandFound.lost_services.service.LostItemChangeLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.*;
+import java.io.InputStream;
 import java.util.List;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/lost-items")
 public class LostItemController {
 
+    public static final int MAX_PAGE_LIMIT = 1000;
+
     private final LostItemRepository repo;
+    private final LostItemChangeLog changeLog;
+    private final LostImageProcessor imageProcessor;
+    private final ImageStore images;
 
-    public LostItemController(LostItemRepository repo) {
+    public LostItemController(LostItemRepository repo, LostItemChangeLog changeLog,
+                              LostImageProcessor imageProcessor, ImageStore images) {
         this.repo = repo;
+        this.changeLog = changeLog;
+        this.imageProcessor = imageProcessor;
+        this.images = images;
     }
 
     // ---------- EXISTING JSON POST (kept as-is) ----------
     @PostMapping
     public LostItem create(@RequestBody LostItem item) {
-        return repo.save(item);
+        // filled in from the uploaded photo only; a forged hash would buy a photo bonus
+        item.setImageHash(null);
+        item.setThumbnailPath(null);
+        item.setLargeThumbnailPath(null);
+        return changeLog.save(item);
     }
 
     // ---------- NEW MULTIPART POST ----------
@@ -41,24 +59,32 @@ public class LostItemController {
         item.setDescription(description);
         item.setLocation(location);
 
+        ImageStore.Stored stored = null;
         if (image != null && !image.isEmpty()) {
-            Path uploadDir = Paths.get("lost-uploads");
-            Files.createDirectories(uploadDir);
-
             String original = image.getOriginalFilename() == null ? "" : image.getOriginalFilename();
             String ext = original.contains(".")
                     ? original.substring(original.lastIndexOf("."))
                     : ".jpg";
 
-            String filename = UUID.randomUUID() + ext;
-            Path target = uploadDir.resolve(filename);
-
-            Files.copy(image.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-
-            item.setImagePath("/lost-uploads/" + filename);
+            // identical photos are kept once
+            try (InputStream in = image.getInputStream()) {
+                stored = images.store(in, ext);
+            }
+            item.setImagePath(stored.url());
         }
 
-        return repo.save(item);
+        // thumbnails and the photo hash are added in the background
+        LostItem saved;
+        try {
+            saved = changeLog.save(item);
+        } catch (RuntimeException e) {
+            if (stored != null) images.release(stored.url());
+            throw e;
+        }
+        if (stored != null) {
+            imageProcessor.submit(saved.getId(), stored.file());
+        }
+        return saved;
     }
 
     // ---------- LIST ALL LOST ITEMS (ADMIN) ----------
@@ -67,6 +93,51 @@ public class LostItemController {
         return repo.findAll();
     }
 
+    // ---------- KEYSET PAGES (matching-service) ----------
+    // pass the previous page's "next" as "after"
+    @GetMapping("/page")
+    public LostItemPage page(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "500") int limit,
+            // optional, repeatable: only items in these statuses
+            @RequestParam(value = "status", required = false) List<String> status
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+
+        boolean first = after == null || after.isBlank();
+        List<LostItem> items;
+        if (status != null && !status.isEmpty()) {
+            items = repo.findPageByStatus(status, first ? "" : after, Limit.of(limit));
+        } else {
+            items = first
+                    ? repo.findAllByOrderByIdAsc(Limit.of(limit))
+                    : repo.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+        }
+
+        String next = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+        return new LostItemPage(items, next);
+    }
+
+    // ---------- CHANGE FEED (matching-service) ----------
+    // items created/updated/deleted after a cursor
+    @GetMapping("/changes")
+    public LostItemChangeFeed changes(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "500") int limit,
+            // optional, repeatable: items that left these statuses come back as deleted
+            @RequestParam(value = "status", required = false) List<String> status
+    ) {
+        return changeLog.feed(after, limit, status);
+    }
+
+    // current cursor of the change feed
+    @GetMapping("/changes/head")
+    public long changesHead() {
+        return changeLog.head();
+    }
+
     // ---------- GET LOST ITEM BY ID (IMPORTANT FOR MATCH UI) ----------
     @GetMapping("/{id}")
     public ResponseEntity<LostItem> get(@PathVariable String id) {
@@ -81,7 +152,7 @@ public class LostItemController {
         return repo.findByUsername(username);
     }
 
-    // ---------- DELETE LOST ITEM (and delete image file if present) ----------
+    // ---------- DELETE LOST ITEM (and its photo unless another item shares it) ----------
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable String id) {
         LostItem item = repo.findById(id).orElse(null);
@@ -89,17 +160,8 @@ public class LostItemController {
             return ResponseEntity.notFound().build();
         }
 
-        // delete file if present
-        try {
-            if (item.getImagePath() != null && !item.getImagePath().isBlank()) {
-                // "/lost-uploads/xyz.jpg" -> "lost-uploads/xyz.jpg"
-                String relative = item.getImagePath().replaceFirst("^/+", "");
-                Path filePath = Paths.get(relative).toAbsolutePath();
-                Files.deleteIfExists(filePath);
-            }
-        } catch (Exception ignored) {}
-
-        repo.deleteById(id);
+        changeLog.delete(id);
+        images.release(item.getImagePath());
         return ResponseEntity.noContent().build();
     }
 }
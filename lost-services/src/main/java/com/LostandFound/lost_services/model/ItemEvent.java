@@ -0,0 +1,10 @@
+package com.LostandFound.lost_services.model;
+
+/**
+ * Item-changed event pushed to matching-service. {@code item} is the current
+ * state for UPSERT and null for DELETE.
+ */
+public record ItemEvent(String source, String type, String itemId, long seq, LostItem item) {
+
+    public static final String SOURCE = "LOST";
+}
@@ -1,10 +1,15 @@
 package com.LostandFound.lost_services.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+// updates write only changed columns, so an edit does not put back stale photo fields
+@DynamicUpdate
+// status-filtered keyset pages (matching-service only reads OPEN items)
+@Table(indexes = @Index(name = "idx_lost_item_status_id", columnList = "status, id"))
 public class LostItem {
 
     @Id
@@ -24,6 +29,13 @@ public class LostItem {
     // optional image path (e.g., "/lost-uploads/xyz.jpg")
     private String imagePath;
 
+    // 64-bit dHash of the photo, null without one (or if it couldn't be decoded)
+    private Long imageHash;
+
+    // resized copies of the photo (160px / 640px), null until they are generated
+    private String thumbnailPath;
+    private String largeThumbnailPath;
+
     // getters & setters
     public String getId() {
         return id;
@@ -72,4 +84,37 @@ public class LostItem {
     public void setImagePath(String imagePath) {
         this.imagePath = imagePath;
     }
+
+    public Long getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(Long imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getThumbnailPath() {
+        return thumbnailPath;
+    }
+
+    public void setThumbnailPath(String thumbnailPath) {
+        this.thumbnailPath = thumbnailPath;
+    }
+
+    public String getLargeThumbnailPath() {
+        return largeThumbnailPath;
+    }
+
+    public void setLargeThumbnailPath(String largeThumbnailPath) {
+        this.largeThumbnailPath = largeThumbnailPath;
+    }
+
+    // never stored without a status, so status pages need no IS NULL branch
+    @PrePersist
+    @PreUpdate
+    void defaultStatus() {
+        if (status == null) {
+            status = "OPEN";
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.LostandFound.lost_services.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One row per create/update/delete of a lost item; {@code seq} is the change-feed cursor.
+ * Doubles as the outbox for item events pushed to matching-service ({@code dispatched}).
+ */
+@Entity
+@Table(name = "lost_item_changes")
+public class LostItemChange {
+
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "lost_item_id", nullable = false)
+    private String lostItemId;
+
+    @Column(nullable = false)
+    private String type; // UPSERT / DELETE
+
+    // set on insert, i.e. right when seq is assigned; the feed uses it to tell settled rows
+    private Instant changedAt;
+
+    // false until the item event was delivered to matching-service (null on rows from before the outbox)
+    private Boolean dispatched = false;
+
+    // set on the oldest remaining row once the rows before it were pruned
+    private Boolean prunedBefore;
+
+    public LostItemChange() {
+    }
+
+    public LostItemChange(String lostItemId, String type) {
+        this.lostItemId = lostItemId;
+        this.type = type;
+    }
+
+    @PrePersist
+    void prePersist() {
+        changedAt = Instant.now();
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public String getLostItemId() {
+        return lostItemId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public Boolean getDispatched() {
+        return dispatched;
+    }
+
+    public Boolean getPrunedBefore() {
+        return prunedBefore;
+    }
+}
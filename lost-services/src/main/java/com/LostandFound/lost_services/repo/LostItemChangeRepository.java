@@ -0,0 +1,41 @@
+package com.LostandFound.lost_services.repo;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.LostandFound.lost_services.model.LostItemChange;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface LostItemChangeRepository extends JpaRepository<LostItemChange, Long> {
+    List<LostItemChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+
+    Optional<LostItemChange> findTopByOrderBySeqDesc();
+
+    Optional<LostItemChange> findTopByChangedAtLessThanEqualOrderBySeqDesc(Instant changedAt);
+
+    Optional<LostItemChange> findTopByOrderBySeqAsc();
+
+    // outbox: changes not yet delivered to matching-service
+    List<LostItemChange> findByDispatchedFalseOrderBySeqAsc(Limit limit);
+
+    @Modifying
+    @Query("update LostItemChange c set c.dispatched = true where c.seq in :seqs")
+    int markDispatched(@Param("seqs") Collection<Long> seqs);
+
+    // first row that must be kept: not yet delivered, or changed after the cutoff
+    @Query("select min(c.seq) from LostItemChange c where c.dispatched = false or c.changedAt > :before")
+    Long findFirstKeptSeq(@Param("before") Instant before);
+
+    @Modifying
+    @Query("delete from LostItemChange c where c.seq < :seq")
+    int deleteBySeqBefore(@Param("seq") long seq);
+
+    @Modifying
+    @Query("update LostItemChange c set c.prunedBefore = true where c.seq = :seq")
+    int markPrunedBefore(@Param("seq") long seq);
+}
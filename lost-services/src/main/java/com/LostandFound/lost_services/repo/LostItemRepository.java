@@ -1,9 +1,39 @@
 package com.LostandFound.lost_services.repo;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import com.LostandFound.lost_services.model.LostItem;
+import java.util.Collection;
 import java.util.List;
 
 public interface LostItemRepository extends JpaRepository<LostItem, String> {
     List<LostItem> findByUsername(String username);
+
+    // keyset paging by primary key: no OFFSET scan, stable while rows are added
+    List<LostItem> findAllByOrderByIdAsc(Limit limit);
+
+    List<LostItem> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    // keyset page restricted to some statuses (served by the (status, id) index)
+    @Query("select i from LostItem i where i.status in :statuses and i.id > :after order by i.id")
+    List<LostItem> findPageByStatus(@Param("statuses") Collection<String> statuses,
+                                 @Param("after") String after,
+                                 Limit limit);
+
+    // rows from before status was always set; run once at startup
+    @Transactional
+    @Modifying
+    @Query("update LostItem i set i.status = 'OPEN' where i.status is null")
+    int backfillStatus();
+
+    // photo analysis results only, so a concurrent edit of the other fields is not overwritten
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update LostItem i set i.imageHash = :hash, i.thumbnailPath = :thumbnail, "
+            + "i.largeThumbnailPath = :largeThumbnail where i.id = :id")
+    int updatePhoto(@Param("id") String id, @Param("hash") Long hash,
+                    @Param("thumbnail") String thumbnail, @Param("largeThumbnail") String largeThumbnail);
 }
@@ -0,0 +1,8 @@
+package com.LostandFound.lost_services.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.LostandFound.lost_services.model.StoredImage;
+
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+}
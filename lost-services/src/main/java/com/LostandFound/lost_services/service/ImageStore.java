@@ -0,0 +1,174 @@
+package com.LostandFound.lost_services.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.LostandFound.lost_services.model.StoredImage;
+import com.LostandFound.lost_services.repo.StoredImageRepository;
+
+/**
+ * Content-addressed store for uploaded photos in one directory, served under
+ * one URL prefix (both given by the service's config).
+ *
+ * Uploads are hashed (SHA-256) while they are copied to a temp file in a
+ * sibling directory ({@code <dir>.tmp}, outside what is served, on the same
+ * file system for the atomic move) and then moved to
+ * {@code ab/cd/<hash><ext>}, so no directory grows past a few hundred
+ * entries. Identical uploads share one file; stored_images counts the items
+ * pointing at it and {@link #release} only removes the file (and its derived
+ * copies in {@code thumbs/}) when the last one is gone. Files from before the
+ * store (flat {@code <uuid><ext>}) have no row and are treated as unshared.
+ */
+public class ImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStore.class);
+
+    private static final Pattern EXTENSION = Pattern.compile("\\.[a-z0-9]{1,8}");
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final String DEFAULT_EXTENSION = ".jpg";
+
+    /** A stored upload: its public URL and the file behind it. */
+    public record Stored(String url, Path file) {}
+
+    private final StoredImageRepository images;
+    private final TransactionTemplate tx;
+    private final String urlPrefix;
+    private final Path root;
+    private final Path tmpDir;
+
+    // store/release of one hash must not interleave (the file and its row change together)
+    private final Object[] locks = new Object[64];
+
+    public ImageStore(StoredImageRepository images,
+                      PlatformTransactionManager txManager,
+                      String urlPrefix,
+                      String dir) {
+        this.images = images;
+        this.tx = new TransactionTemplate(txManager);
+        this.urlPrefix = urlPrefix;
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.tmpDir = root.resolveSibling(root.getFileName() + ".tmp");
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /** Stores an upload; returns the existing file when the same content is already stored. */
+    public Stored store(InputStream content, String extension) throws IOException {
+        Path tmp = Files.createTempFile(Files.createDirectories(tmpDir), "upload-", ".part");
+        try {
+            MessageDigest sha256 = sha256();
+            try (InputStream in = new DigestInputStream(content, sha256)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+
+            synchronized (lockFor(hash)) {
+                StoredImage image = tx.execute(s -> {
+                    StoredImage row = images.findById(hash)
+                            .orElseGet(() -> new StoredImage(hash, normalizeExtension(extension)));
+                    row.setRefs(row.getRefs() + 1);
+                    return images.save(row);
+                });
+                String relative = relativePath(hash, image.getExtension());
+                Path target = root.resolve(relative);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return new Stored(urlPrefix + "/" + relative, target);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Drops one reference to a stored URL; the file goes with the last one. Unknown URLs are ignored. */
+    public void release(String url) {
+        Path file = resolve(url);
+        if (file == null) return;
+
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+
+        if (!HASH.matcher(base).matches()) {
+            delete(file, base);
+            return;
+        }
+        synchronized (lockFor(base)) {
+            boolean last = Boolean.TRUE.equals(tx.execute(s -> {
+                StoredImage row = images.findById(base).orElse(null);
+                if (row == null) return true;
+                if (row.getRefs() > 1) {
+                    row.setRefs(row.getRefs() - 1);
+                    return false;
+                }
+                images.delete(row);
+                return true;
+            }));
+            if (last) delete(file, base);
+        }
+    }
+
+    /** File behind a URL under the store's prefix, or null for anything outside the store. */
+    public Path resolve(String url) {
+        if (url == null || !url.startsWith(urlPrefix + "/")) return null;
+        Path file = root.resolve(url.substring(urlPrefix.length() + 1)).normalize();
+        return file.startsWith(root) && !file.equals(root) ? file : null;
+    }
+
+    // "ab/cd/abcd...ef.jpg"
+    static String relativePath(String hash, String extension) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extension;
+    }
+
+    static String normalizeExtension(String extension) {
+        String ext = extension == null ? "" : extension.toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(ext).matches() ? ext : DEFAULT_EXTENSION;
+    }
+
+    private void delete(Path file, String base) {
+        try {
+            Files.deleteIfExists(file);
+            Path thumbs = file.getParent().resolve("thumbs");
+            if (Files.isDirectory(thumbs)) {
+                try (DirectoryStream<Path> derived = Files.newDirectoryStream(thumbs, base + "-*")) {
+                    for (Path p : derived) {
+                        Files.deleteIfExists(p);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), locks.length)];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.LostandFound.lost_services.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Decodes, orients, shrinks and re-encodes uploaded photos with plain ImageIO.
+ * Only every n-th pixel is decoded, so a 10MB photo costs about as much memory
+ * as the largest size we need from it.
+ */
+final class Images {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private Images() {}
+
+    /** The image subsampled to at least maxSide pixels on its longer side (if it has them), or null when ImageIO can't decode it. */
+    static BufferedImage readSampled(Path file, int maxSide) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) return null;
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int side = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, side / maxSide);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            // unreadable or truncated image
+            return null;
+        }
+    }
+
+    /** EXIF orientation (1-8) of a JPEG file; 1 (as stored) when there is none. */
+    static int orientation(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readUnsignedShort() != 0xFFD8) return 1;
+
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // SOS: image data follows, no metadata after it
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) return 1;
+
+                int length = in.readUnsignedShort() - 2;
+                if (marker == 0xFFE1) {
+                    byte[] segment = new byte[length];
+                    in.readFully(segment);
+                    int orientation = exifOrientation(segment);
+                    if (orientation > 0) return orientation;
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    // orientation tag of IFD0 in an APP1 segment; 0 if the segment isn't Exif (XMP also uses APP1)
+    private static int exifOrientation(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i'
+                || segment[3] != 'f' || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+        int ifd = tiff.getInt(4);
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    /** The image turned upright for an EXIF orientation, so copies without EXIF display the same way. */
+    static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) return image;
+
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean swap = orientation >= 5;
+        BufferedImage out = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int rgb = image.getRGB(x, y);
+                switch (orientation) {
+                    case 2 -> out.setRGB(w - 1 - x, y, rgb);          // mirrored
+                    case 3 -> out.setRGB(w - 1 - x, h - 1 - y, rgb);  // upside down
+                    case 4 -> out.setRGB(x, h - 1 - y, rgb);          // mirrored upside down
+                    case 5 -> out.setRGB(y, x, rgb);                  // transposed
+                    case 6 -> out.setRGB(h - 1 - y, x, rgb);          // needs 90 degrees clockwise
+                    case 7 -> out.setRGB(h - 1 - y, w - 1 - x, rgb);  // transversed
+                    default -> out.setRGB(y, w - 1 - x, rgb);         // 8: needs 90 degrees anticlockwise
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * The image shrunk so its longer side is at most maxSide, on white (JPEG has
+     * no alpha). Halves repeatedly before the last step, which keeps bilinear
+     * scaling from skipping pixels.
+     */
+    static BufferedImage fit(BufferedImage image, int maxSide) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        double scale = Math.min(1.0, (double) maxSide / Math.max(w, h));
+        int targetW = Math.max(1, (int) Math.round(w * scale));
+        int targetH = Math.max(1, (int) Math.round(h * scale));
+
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= targetW && current.getHeight() / 2 >= targetH) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return draw(current, targetW, targetH);
+    }
+
+    private static BufferedImage draw(BufferedImage src, int w, int h) {
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, w, h);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    /**
+     * Writes the image as a JPEG with no metadata at all (EXIF, GPS, ...),
+     * replacing the target atomically.
+     */
+    static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (OutputStream os = Files.newOutputStream(tmp);
+             ImageOutputStream out = ImageIO.createImageOutputStream(os)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
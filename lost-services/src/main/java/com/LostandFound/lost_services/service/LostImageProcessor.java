@@ -0,0 +1,122 @@
+package com.LostandFound.lost_services.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.LostandFound.lost_services.repo.LostItemRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Works on uploaded photos off the request thread: each photo is decoded once,
+ * turned upright, written as metadata-free JPEG thumbnails
+ * ("/lost-uploads/thumbs/{name}-{size}.jpg") and hashed. The results are saved
+ * through the change log so matching-service sees the hash.
+ *
+ * Runs on a small fixed pool with a bounded queue; when it is full the photo is
+ * skipped (logged) and the item keeps the original only.
+ */
+@Component
+public class LostImageProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(LostImageProcessor.class);
+
+    /** Thumbnail sizes (longer side, px): list cards and detail views. */
+    public static final int SMALL = 160;
+    public static final int LARGE = 640;
+
+    private final LostItemRepository repo;
+    private final LostItemChangeLog changeLog;
+    private final TransactionTemplate tx;
+    private final ThreadPoolExecutor executor;
+
+    public LostImageProcessor(LostItemRepository repo,
+                              LostItemChangeLog changeLog,
+                              PlatformTransactionManager txManager,
+                              @Value("${lost.image-processing.threads:2}") int threads,
+                              @Value("${lost.image-processing.queue-capacity:100}") int queueCapacity) {
+        this.repo = repo;
+        this.changeLog = changeLog;
+        this.tx = new TransactionTemplate(txManager);
+
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "lost-image-processing-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /** Queues a stored item's photo; call after the item is committed. */
+    public void submit(String itemId, Path image) {
+        try {
+            executor.execute(() -> {
+                try {
+                    process(itemId, image);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Image processing failed for lost item {}: {}", itemId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Image processing queue full, skipping lost item {}", itemId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Thumbnail URL for an original's URL ("/lost-uploads/a.jpg" -> "/lost-uploads/thumbs/a-160.jpg"). */
+    static String thumbnailUrl(String imagePath, int size) {
+        int slash = imagePath.lastIndexOf('/');
+        return imagePath.substring(0, slash + 1) + "thumbs/" + thumbnailName(imagePath.substring(slash + 1), size);
+    }
+
+    private static String thumbnailName(String original, int size) {
+        int dot = original.lastIndexOf('.');
+        return (dot > 0 ? original.substring(0, dot) : original) + "-" + size + ".jpg";
+    }
+
+    void process(String itemId, Path image) throws IOException {
+        BufferedImage decoded = Images.readSampled(image, LARGE);
+        if (decoded == null) return;
+        BufferedImage upright = Images.orient(decoded, Images.orientation(image));
+
+        Path thumbs = image.toAbsolutePath().getParent().resolve("thumbs");
+        String name = image.getFileName().toString();
+        BufferedImage large = Images.fit(upright, LARGE);
+        Images.writeJpeg(large, thumbs.resolve(thumbnailName(name, LARGE)));
+        Images.writeJpeg(Images.fit(large, SMALL), thumbs.resolve(thumbnailName(name, SMALL)));
+
+        Long hash = PerceptualHash.dHash(upright);
+
+        tx.executeWithoutResult(s -> repo.findById(itemId).ifPresent(item -> {
+            String thumbnail = item.getImagePath() == null ? null : thumbnailUrl(item.getImagePath(), SMALL);
+            String largeThumbnail = item.getImagePath() == null ? null : thumbnailUrl(item.getImagePath(), LARGE);
+            if (Objects.equals(item.getImageHash(), hash)
+                    && Objects.equals(item.getThumbnailPath(), thumbnail)
+                    && Objects.equals(item.getLargeThumbnailPath(), largeThumbnail)) {
+                return;
+            }
+            // only the photo columns: an edit that commits meanwhile keeps its other fields
+            repo.updatePhoto(itemId, hash, thumbnail, largeThumbnail);
+            changeLog.recordUpdate(itemId);
+        }));
+    }
+}
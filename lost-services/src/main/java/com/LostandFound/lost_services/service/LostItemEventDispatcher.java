@@ -0,0 +1,134 @@
+package com.LostandFound.lost_services.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import com.LostandFound.lost_services.model.ItemEvent;
+import com.LostandFound.lost_services.model.LostItem;
+import com.LostandFound.lost_services.model.LostItemChange;
+import com.LostandFound.lost_services.repo.LostItemChangeRepository;
+import com.LostandFound.lost_services.repo.LostItemRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Delivers the change outbox to matching-service as item events.
+ *
+ * A drain is kicked off right after each change commits, so matching-service
+ * hears about new items within milliseconds; a periodic retry picks up anything
+ * a failed delivery left behind. Rows are marked dispatched only after
+ * matching-service accepted them (at-least-once; the receiver is idempotent).
+ */
+@Component
+public class LostItemEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(LostItemEventDispatcher.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private final LostItemChangeRepository changes;
+    private final LostItemRepository repo;
+    private final TransactionTemplate tx;
+    private final RestClient client;
+    private final String eventsUrl;
+
+    // one drain at a time, and at most one queued behind it
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "lost-item-events");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    public LostItemEventDispatcher(LostItemChangeRepository changes,
+                                    LostItemRepository repo,
+                                    PlatformTransactionManager txManager,
+                                    RestClient.Builder matchingRestClientBuilder,
+                                    @Value("${matching.events.url:http://MATCHING-SERVICE/matches/events}") String eventsUrl) {
+        this.changes = changes;
+        this.repo = repo;
+        this.tx = new TransactionTemplate(txManager);
+        this.client = matchingRestClientBuilder.build();
+        this.eventsUrl = eventsUrl;
+    }
+
+    @TransactionalEventListener
+    public void onRecorded(LostItemChangeLog.Recorded recorded) {
+        requestDrain();
+    }
+
+    @Scheduled(fixedDelayString = "${matching.events.retry-ms:10000}")
+    public void retry() {
+        requestDrain();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void requestDrain() {
+        if (queued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                queued.set(false);
+                drain();
+            });
+        }
+    }
+
+    void drain() {
+        while (true) {
+            List<LostItemChange> batch = changes.findByDispatchedFalseOrderBySeqAsc(Limit.of(BATCH_SIZE));
+            if (batch.isEmpty()) return;
+
+            try {
+                client.post()
+                        .uri(eventsUrl)
+                        .body(toEvents(batch))
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RestClientException e) {
+                log.warn("Item events not delivered, will retry: {}", e.getMessage());
+                return;
+            }
+
+            List<Long> seqs = batch.stream().map(LostItemChange::getSeq).toList();
+            tx.executeWithoutResult(s -> changes.markDispatched(seqs));
+
+            if (batch.size() < BATCH_SIZE) return;
+        }
+    }
+
+    // current item state for each change; an item that is gone by now is reported as deleted
+    private List<ItemEvent> toEvents(List<LostItemChange> batch) {
+        List<String> ids = batch.stream().map(LostItemChange::getLostItemId).distinct().toList();
+        Map<String, LostItem> current = repo.findAllById(ids).stream()
+                .collect(Collectors.toMap(LostItem::getId, Function.identity()));
+
+        return batch.stream()
+                .map(c -> {
+                    LostItem item = current.get(c.getLostItemId());
+                    String type = item == null ? LostItemChange.DELETE : c.getType();
+                    return new ItemEvent(ItemEvent.SOURCE, type, c.getLostItemId(), c.getSeq(),
+                            LostItemChange.DELETE.equals(type) ? null : item);
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,35 @@
+package com.LostandFound.lost_services.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.LostandFound.lost_services.repo.LostItemRepository;
+
+/**
+ * Gives lost items stored before the status was always set the default status
+ * (OPEN), so status-filtered pages can use the (status, id) index without an
+ * IS NULL branch. Matching already treated a missing status as OPEN, so no
+ * change rows are written.
+ */
+@Component
+public class LostItemStatusBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(LostItemStatusBackfill.class);
+
+    private final LostItemRepository repo;
+
+    public LostItemStatusBackfill(LostItemRepository repo) {
+        this.repo = repo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = repo.backfillStatus();
+        if (updated > 0) {
+            log.info("Set status OPEN on {} lost items without one", updated);
+        }
+    }
+}
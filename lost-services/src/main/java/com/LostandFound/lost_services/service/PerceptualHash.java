@@ -0,0 +1,55 @@
+package com.LostandFound.lost_services.service;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * 64-bit difference hash (dHash) of a photo: the image is shrunk to 9x8 grey
+ * cells and each bit says whether a cell is brighter than its right-hand
+ * neighbour. Resized, re-encoded or slightly recoloured copies of a photo end up
+ * a few bits apart, so matching-service compares them by Hamming distance.
+ */
+final class PerceptualHash {
+
+    private static final int WIDTH = 9;
+    private static final int HEIGHT = 8;
+
+    private PerceptualHash() {}
+
+    static long dHash(BufferedImage image) {
+        double[] cells = greyCells(image);
+        long hash = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH - 1; x++) {
+                hash <<= 1;
+                if (cells[y * WIDTH + x] > cells[y * WIDTH + x + 1]) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    // mean luminance of each cell (a box filter, so big photos shrink without aliasing)
+    private static double[] greyCells(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        double[] sum = new double[WIDTH * HEIGHT];
+        int[] count = new int[WIDTH * HEIGHT];
+        int[] row = new int[w];
+
+        for (int y = 0; y < h; y++) {
+            image.getRGB(0, y, w, 1, row, 0, w);
+            int cy = (int) ((long) y * HEIGHT / h);
+            for (int x = 0; x < w; x++) {
+                int rgb = row[x];
+                int cell = cy * WIDTH + (int) ((long) x * WIDTH / w);
+                sum[cell] += 0.299 * ((rgb >> 16) & 0xff) + 0.587 * ((rgb >> 8) & 0xff) + 0.114 * (rgb & 0xff);
+                count[cell]++;
+            }
+        }
+        for (int i = 0; i < sum.length; i++) {
+            if (count[i] > 0) sum[i] /= count[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,51 @@
+package com.LostandFound.lost_services.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.LostandFound.lost_services.model.LostItem;
+import com.LostandFound.lost_services.repo.LostItemRepository;
+import com.LostandFound.lost_services.service.ImageStore;
+import com.LostandFound.lost_services.service.LostImageProcessor;
+import com.LostandFound.lost_services.service.LostItemChangeLog;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(LostItemController.class)
+class LostItemControllerTest {
+
+    @Autowired MockMvc mvc;
+
+    @MockBean LostItemRepository repo;
+    @MockBean LostItemChangeLog changeLog;
+    @MockBean LostImageProcessor imageProcessor;
+    @MockBean ImageStore images;
+
+    @Test
+    void create_ignoresPhotoFieldsOnlyTheServerSets() throws Exception {
+        when(changeLog.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        mvc.perform(post("/lost-items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username": "user1", "description": "black wallet",
+                                 "imageHash": 81985529216486895, "thumbnailPath": "/lost-uploads/thumbs/x-160.jpg",
+                                 "largeThumbnailPath": "/lost-uploads/thumbs/x-640.jpg"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("black wallet"));
+
+        ArgumentCaptor<LostItem> saved = ArgumentCaptor.forClass(LostItem.class);
+        verify(changeLog).save(saved.capture());
+        assertThat(saved.getValue().getImageHash()).isNull();
+        assertThat(saved.getValue().getThumbnailPath()).isNull();
+        assertThat(saved.getValue().getLargeThumbnailPath()).isNull();
+    }
+}
@@ -0,0 +1,77 @@
+package com.LostandFound.lost_services.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import com.LostandFound.lost_services.model.LostItem;
+import com.LostandFound.lost_services.repo.LostItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = "lost.changes.settle-ms=0")
+@Import({LostItemChangeLog.class, LostImageProcessor.class})
+class LostImageProcessorTest {
+
+    @Autowired LostImageProcessor processor;
+    @Autowired LostItemChangeLog changeLog;
+    @Autowired LostItemRepository repo;
+
+    @TempDir Path dir;
+
+    @Test
+    void process_writesThumbnails_andHash_once() throws Exception {
+        BufferedImage img = new BufferedImage(1200, 1600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 600, 1600);
+        g.dispose();
+        Path photo = dir.resolve("bag.png");
+        ImageIO.write(img, "png", photo.toFile());
+
+        LostItem item = new LostItem();
+        item.setUsername("user1");
+        item.setDescription("black bag");
+        item.setImagePath("/lost-uploads/bag.png");
+        String id = changeLog.save(item).getId();
+        long before = changeLog.head();
+
+        processor.process(id, photo);
+
+        LostItem stored = repo.findById(id).orElseThrow();
+        assertThat(stored.getImageHash()).isNotNull();
+        assertThat(stored.getThumbnailPath()).isEqualTo("/lost-uploads/thumbs/bag-160.jpg");
+        assertThat(stored.getLargeThumbnailPath()).isEqualTo("/lost-uploads/thumbs/bag-640.jpg");
+        assertThat(ImageIO.read(dir.resolve("thumbs/bag-160.jpg").toFile()).getHeight()).isEqualTo(160);
+        assertThat(ImageIO.read(dir.resolve("thumbs/bag-640.jpg").toFile()).getWidth()).isEqualTo(480);
+        assertThat(changeLog.head()).isEqualTo(before + 1);
+
+        // same photo again: nothing changes
+        processor.process(id, photo);
+        assertThat(changeLog.head()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void process_ignoresFilesThatAreNotImages() throws Exception {
+        Path text = dir.resolve("notes.jpg");
+        Files.writeString(text, "not an image");
+        LostItem item = new LostItem();
+        item.setUsername("user1");
+        item.setDescription("keys");
+        String id = changeLog.save(item).getId();
+
+        processor.process(id, text);
+
+        assertThat(repo.findById(id).orElseThrow().getThumbnailPath()).isNull();
+        assertThat(dir.resolve("thumbs")).doesNotExist();
+    }
+}
@@ -0,0 +1,76 @@
+package com.LostandFound.lost_services.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import com.LostandFound.lost_services.model.LostItem;
+import com.LostandFound.lost_services.model.LostItemChange;
+import com.LostandFound.lost_services.model.LostItemChangeFeed;
+import com.LostandFound.lost_services.repo.LostItemChangeRepository;
+import com.LostandFound.lost_services.repo.LostItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+@DataJpaTest(properties = "lost.changes.settle-ms=0")
+@Import(LostItemChangeLog.class)
+class LostItemChangeLogTest {
+
+    @Autowired LostItemChangeLog changeLog;
+    @Autowired LostItemRepository repo;
+    @Autowired LostItemChangeRepository changes;
+    @Autowired ApplicationEventPublisher events;
+    @Autowired TestEntityManager em;
+
+    @Test
+    void feed_returnsChangesAfterCursor_withTombstones() {
+        long start = changeLog.head();
+
+        LostItem wallet = changeLog.save(item("black wallet"));
+        LostItem phone = changeLog.save(item("white phone"));
+        changeLog.delete(phone.getId());
+
+        LostItemChangeFeed feed = changeLog.feed(start, 100);
+
+        assertThat(feed.items()).extracting(LostItem::getId).containsExactly(wallet.getId());
+        assertThat(feed.deleted()).containsExactly(phone.getId());
+        assertThat(feed.cursor()).isEqualTo(changeLog.head());
+        assertThat(changeLog.feed(feed.cursor(), 100).items()).isEmpty();
+    }
+
+    @Test
+    void prune_dropsDeliveredRows_andRejectsCursorsFromBeforeThem() {
+        long start = changeLog.head();
+        changeLog.save(item("black wallet"));
+        LostItem phone = changeLog.save(item("white phone"));
+        List<Long> seqs = changes.findBySeqGreaterThanOrderBySeqAsc(start, Limit.of(10)).stream()
+                .map(LostItemChange::getSeq)
+                .toList();
+        changes.markDispatched(seqs);
+
+        LostItemChangeLog expiring = new LostItemChangeLog(repo, changes, events, 0, 0);
+
+        // the newest row is always kept, so later cursors still have something to compare against
+        assertThat(expiring.prune()).isEqualTo(1);
+        em.clear();
+
+        assertThatThrownBy(() -> changeLog.feed(start, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(changeLog.feed(seqs.get(0), 100).items())
+                .extracting(LostItem::getId).containsExactly(phone.getId());
+        assertThat(changeLog.feed(changeLog.head(), 100).items()).isEmpty();
+    }
+
+    private static LostItem item(String description) {
+        LostItem item = new LostItem();
+        item.setUsername("user1");
+        item.setDescription(description);
+        return item;
+    }
+}
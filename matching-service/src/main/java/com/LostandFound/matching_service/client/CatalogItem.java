@@ -0,0 +1,9 @@
+package com.LostandFound.matching_service.client;
+
+/**
+ * An item as matching-service sees it: only the fields the matcher reads.
+ */
+public sealed interface CatalogItem permits FoundItem, LostItem {
+
+    String id();
+}
@@ -0,0 +1,9 @@
+package com.LostandFound.matching_service.client;
+
+import java.util.List;
+
+/**
+ * A page of an item service's change feed: current state of items changed after
+ * the requested cursor, ids deleted since then, and the cursor to ask from next.
+ */
+public record ChangeFeed<T>(List<T> items, List<String> deleted, long cursor, boolean hasMore) {}
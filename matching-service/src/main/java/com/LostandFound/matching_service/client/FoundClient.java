@@ -2,12 +2,24 @@ package com.LostandFound.matching_service.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
-import java.util.Map;
 
 @FeignClient(name = "FOUND-SERVICES")
 public interface FoundClient {
-    @GetMapping("/found-items")
-    List<Map<String, Object>> getFoundItems();
+    // keyset pages of items in the given statuses; after = null for the first page
+    @GetMapping("/found-items/page")
+    ItemPage<FoundItem> getFoundPage(@RequestParam(value = "after", required = false) String after,
+                                     @RequestParam("limit") int limit,
+                                     @RequestParam("status") List<String> statuses);
+
+    // items that left the given statuses come back in "deleted"
+    @GetMapping("/found-items/changes")
+    ChangeFeed<FoundItem> getFoundChanges(@RequestParam("after") long after,
+                                          @RequestParam("limit") int limit,
+                                          @RequestParam("status") List<String> statuses);
+
+    @GetMapping("/found-items/changes/head")
+    long getFoundChangesHead();
 }
@@ -0,0 +1,23 @@
+package com.LostandFound.matching_service.client;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Found item as served by found-services. Fields the matcher doesn't use
+ * (image path, ...) are skipped while parsing; imageHash is the photo's 64-bit
+ * dHash, null without a photo.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record FoundItem(
+        String id,
+        String title,
+        String description,
+        String location,
+        List<String> keywords,
+        String status,
+        Instant createdAt,
+        Long imageHash
+) implements CatalogItem {}
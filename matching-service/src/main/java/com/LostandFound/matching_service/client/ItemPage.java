@@ -0,0 +1,9 @@
+package com.LostandFound.matching_service.client;
+
+import java.util.List;
+
+/**
+ * One keyset page of an item service's items. {@code next} is the cursor for the
+ * following page, or null on the last page.
+ */
+public record ItemPage<T>(List<T> items, String next) {}
@@ -2,12 +2,24 @@ package com.LostandFound.matching_service.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
-import java.util.Map;
 
 @FeignClient(name = "LOST-SERVICES")
 public interface LostClient {
-    @GetMapping("/lost-items")
-    List<Map<String, Object>> getLostItems();
+    // keyset pages of items in the given statuses; after = null for the first page
+    @GetMapping("/lost-items/page")
+    ItemPage<LostItem> getLostPage(@RequestParam(value = "after", required = false) String after,
+                                   @RequestParam("limit") int limit,
+                                   @RequestParam("status") List<String> statuses);
+
+    // items that left the given statuses come back in "deleted"
+    @GetMapping("/lost-items/changes")
+    ChangeFeed<LostItem> getLostChanges(@RequestParam("after") long after,
+                                        @RequestParam("limit") int limit,
+                                        @RequestParam("status") List<String> statuses);
+
+    @GetMapping("/lost-items/changes/head")
+    long getLostChangesHead();
 }
@@ -0,0 +1,21 @@
+package com.LostandFound.matching_service.client;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Lost item as served by lost-services. Fields the matcher doesn't use
+ * (image path, ...) are skipped while parsing; imageHash is the photo's 64-bit
+ * dHash, null without a photo.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LostItem(
+        String id,
+        String username,
+        String description,
+        String location,
+        String status,
+        Instant createdAt,
+        Long imageHash
+) implements CatalogItem {}
@@ -0,0 +1,30 @@
+package com.LostandFound.matching_service.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * matching.blocking.*: which lost/found pairs are worth scoring at all.
+ *
+ * @param venues        gazetteer: venue id -> location phrases that mean that venue
+ * @param foundBefore   how long before the loss was reported a found item may have been logged
+ * @param foundAfter    how long after the loss was reported a found item may still be logged
+ * @param measureRecall also score blocked pairs (not saved) to report how many matches blocking drops
+ */
+@ConfigurationProperties(prefix = "matching.blocking")
+public record BlockingProperties(
+        @DefaultValue("false") boolean enabled,
+        Map<String, List<String>> venues,
+        @DefaultValue("7d") Duration foundBefore,
+        @DefaultValue("90d") Duration foundAfter,
+        @DefaultValue("false") boolean measureRecall
+) {
+
+    public BlockingProperties {
+        venues = venues == null ? Map.of() : venues;
+    }
+}
@@ -0,0 +1,31 @@
+package com.LostandFound.matching_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * matching.photo.*: photo similarity as an extra score signal.
+ *
+ * @param weight      score added for identical photos, falling off linearly with
+ *                    distance; 0 ignores photos. At 2 (the match threshold) or more
+ *                    a similar photo matches without any shared keyword
+ * @param maxDistance hashes further apart than this many bits (of 64) don't count
+ */
+@ConfigurationProperties(prefix = "matching.photo")
+public record PhotoProperties(
+        @DefaultValue("0") double weight,
+        @DefaultValue("10") int maxDistance
+) {
+
+    public static final PhotoProperties DISABLED = new PhotoProperties(0, 0);
+
+    public PhotoProperties {
+        if (weight < 0) {
+            throw new IllegalArgumentException("matching.photo.weight must not be negative");
+        }
+        // lookups probe every chunk value within maxDistance/4 bits, so keep it small
+        if (maxDistance < 0 || maxDistance > 16) {
+            throw new IllegalArgumentException("matching.photo.max-distance must be between 0 and 16");
+        }
+    }
+}
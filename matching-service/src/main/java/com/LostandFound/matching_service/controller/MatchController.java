@@ -2,38 +2,92 @@ package com.LostandFound.matching_service.controller;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.LostandFound.matching_service.model.ItemEvent;
+import com.LostandFound.matching_service.model.MatchCursor;
+import com.LostandFound.matching_service.model.MatchPage;
+import com.LostandFound.matching_service.model.MatchPreview;
 import com.LostandFound.matching_service.model.MatchResult;
+import com.LostandFound.matching_service.model.MatchSummary;
+import com.LostandFound.matching_service.model.PreviewRequest;
 import com.LostandFound.matching_service.repo.MatchResultRepository;
+import com.LostandFound.matching_service.service.ItemEventProcessor;
+import com.LostandFound.matching_service.service.MatchingRun;
+import com.LostandFound.matching_service.service.MatchStreams;
 import com.LostandFound.matching_service.service.MatchingJob;
+import com.LostandFound.matching_service.service.MatchingRuns;
+import com.LostandFound.matching_service.service.UserMatchCache;
 
 @RestController
 @RequestMapping("/matches")
 public class MatchController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+    public static final int MAX_PAGE_LIMIT = 500;
+    public static final int DEFAULT_PREVIEW_LIMIT = 10;
+    public static final int MAX_PREVIEW_LIMIT = 50;
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+
+    private final MatchingRuns runs;
     private final MatchingJob job;
     private final MatchResultRepository repo;
+    private final ItemEventProcessor events;
+    private final UserMatchCache userCache;
+    private final MatchStreams streams;
 
-    public MatchController(MatchingJob job, MatchResultRepository repo) {
+    public MatchController(MatchingRuns runs, MatchingJob job, MatchResultRepository repo,
+                           ItemEventProcessor events, UserMatchCache userCache, MatchStreams streams) {
+        this.runs = runs;
         this.job = job;
         this.repo = repo;
+        this.events = events;
+        this.userCache = userCache;
+        this.streams = streams;
     }
 
-    // Create matches now (returns only newly created)
+    // Start a full matching run in the background (or join the one in flight); poll /runs/{id}
     @PostMapping("/run")
-    public List<MatchResult> runNow() {
-        return job.runOnce();
+    public ResponseEntity<MatchingRun.Status> runNow() {
+        return ResponseEntity.accepted().body(runs.submit(MatchingRun.Trigger.MANUAL).status());
+    }
+
+    // Progress of a recent run
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<MatchingRun.Status> run(@PathVariable String id) {
+        MatchingRun run = runs.find(id);
+        return run == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(run.status());
+    }
+
+    // Item events from found/lost services (scored in the background)
+    @PostMapping("/events")
+    public ResponseEntity<Void> events(@RequestBody List<ItemEvent> batch) {
+        HttpStatus status = events.submit(batch) ? HttpStatus.ACCEPTED : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).build();
     }
 
-    // All matches
+    // All matches, best first, one keyset page at a time; X-Next-Cursor is the
+    // "after" for the following page. view=summary leaves out the reason text.
     @GetMapping
-    public List<MatchResult> all() {
-        return repo.findAll();
+    public ResponseEntity<List<?>> all(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_LIMIT) int limit,
+            @RequestParam(value = "view", defaultValue = VIEW_FULL) String view
+    ) {
+        return respond(page(null, after, limit, view));
     }
 
     // Matches for one lost item (frontend will use this a lot)
@@ -42,9 +96,66 @@ public class MatchController {
         return repo.findByLostItemIdOrderByScoreDescCreatedAtDesc(lostItemId);
     }
 
-    // Matches by username (no lostIds anymore)
+    // Matches by username, paged like /matches; served from UserMatchCache while unchanged
     @GetMapping("/by-user/{username}")
-    public List<MatchResult> byUser(@PathVariable String username) {
-        return repo.findByLostUsernameOrderByScoreDescCreatedAtDesc(username);
+    public ResponseEntity<List<?>> byUser(
+            @PathVariable String username,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_LIMIT) int limit,
+            @RequestParam(value = "view", defaultValue = VIEW_FULL) String view
+    ) {
+        String key = (after == null ? "" : after) + "|" + limit + "|" + view;
+        return respond(userCache.get(username, key, () -> page(username, after, limit, view)));
+    }
+
+    // Found items a draft lost report would match (nothing is saved)
+    @PostMapping("/preview")
+    public List<MatchPreview> preview(@RequestBody PreviewRequest draft) {
+        int limit = draft.limit() == null ? DEFAULT_PREVIEW_LIMIT : draft.limit();
+        if (limit < 1 || limit > MAX_PREVIEW_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PREVIEW_LIMIT);
+        }
+        return job.preview(draft.description(), draft.location(), limit);
+    }
+
+    // New matches for a user as Server-Sent Events ("match" events, MatchResult JSON)
+    @GetMapping(value = "/stream/{username}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable String username) {
+        return streams.open(username);
+    }
+
+    private MatchPage page(String username, String after, int limit, String view) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        MatchCursor from = MatchCursor.decode(after);
+
+        List<?> items;
+        MatchCursor last = null;
+        if (VIEW_SUMMARY.equals(view)) {
+            List<MatchSummary> page = username == null
+                    ? repo.findSummaryPage(from.score(), from.createdAt(), from.id(), Limit.of(limit))
+                    : repo.findSummaryPageByUsername(username, from.score(), from.createdAt(), from.id(), Limit.of(limit));
+            if (!page.isEmpty()) last = MatchCursor.after(page.get(page.size() - 1));
+            items = page;
+        } else if (VIEW_FULL.equals(view)) {
+            List<MatchResult> page = username == null
+                    ? repo.findPage(from.score(), from.createdAt(), from.id(), Limit.of(limit))
+                    : repo.findPageByUsername(username, from.score(), from.createdAt(), from.id(), Limit.of(limit));
+            if (!page.isEmpty()) last = MatchCursor.after(page.get(page.size() - 1));
+            items = page;
+        } else {
+            throw new IllegalArgumentException("view must be " + VIEW_FULL + " or " + VIEW_SUMMARY);
+        }
+
+        return new MatchPage(items, items.size() == limit ? last.encode() : null);
+    }
+
+    private static ResponseEntity<List<?>> respond(MatchPage page) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.next() != null) {
+            ok.header(NEXT_CURSOR_HEADER, page.next());
+        }
+        return ok.body(page.items());
     }
 }
@@ -0,0 +1,37 @@
+package com.LostandFound.matching_service.model;
+
+import com.LostandFound.matching_service.client.CatalogItem;
+import com.LostandFound.matching_service.client.FoundItem;
+import com.LostandFound.matching_service.client.LostItem;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * Item-changed event pushed by found-services / lost-services right after a write.
+ * {@code item} is the item's current state for UPSERT and null for DELETE; its
+ * type (found or lost) follows {@code source}.
+ */
+public record ItemEvent(
+        String source,
+        String type,
+        String itemId,
+        long seq,
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXTERNAL_PROPERTY,
+                property = "source", visible = true)
+        @JsonSubTypes({
+                @JsonSubTypes.Type(value = FoundItem.class, name = ItemEvent.FOUND),
+                @JsonSubTypes.Type(value = LostItem.class, name = ItemEvent.LOST)
+        })
+        CatalogItem item
+) {
+
+    public static final String FOUND = "FOUND";
+    public static final String LOST = "LOST";
+
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+
+    public boolean isDelete() {
+        return DELETE.equals(type) || item == null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.LostandFound.matching_service.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a match list ordered by (score, createdAt, id) descending: the sort
+ * key of the last row returned. Sent to clients as an opaque string.
+ */
+public record MatchCursor(double score, Instant createdAt, String id) {
+
+    /** Sorts before every stored match. */
+    public static final MatchCursor FIRST = new MatchCursor(Double.MAX_VALUE, Instant.EPOCH, "");
+
+    public static MatchCursor after(MatchResult m) {
+        return new MatchCursor(m.getScore(), m.getCreatedAt(), m.getId());
+    }
+
+    public static MatchCursor after(MatchSummary m) {
+        return new MatchCursor(m.score(), m.createdAt(), m.id());
+    }
+
+    public String encode() {
+        String raw = score + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Null or blank = first page. */
+    public static MatchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            return new MatchCursor(Double.parseDouble(parts[0]), Instant.parse(parts[1]), parts[2]);
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.LostandFound.matching_service.model;
+
+/**
+ * (lost item, found item) pair; the natural key of a {@link MatchResult}.
+ */
+public record MatchKey(String lostItemId, String foundItemId) {}
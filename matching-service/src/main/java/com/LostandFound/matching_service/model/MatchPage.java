@@ -0,0 +1,9 @@
+package com.LostandFound.matching_service.model;
+
+import java.util.List;
+
+/**
+ * One keyset page of matches ({@link MatchResult} or {@link MatchSummary} rows).
+ * {@code next} is the cursor for the following page, or null on the last page.
+ */
+public record MatchPage(List<?> items, String next) {}
@@ -0,0 +1,6 @@
+package com.LostandFound.matching_service.model;
+
+/**
+ * A found item that would match a draft lost report; nothing is stored.
+ */
+public record MatchPreview(String foundItemId, double score) {}
@@ -0,0 +1,6 @@
+package com.LostandFound.matching_service.model;
+
+/**
+ * A stored {@link MatchResult} without its text: enough to rank it against new candidates.
+ */
+public record MatchRank(String id, String lostItemId, String foundItemId, double score) {}
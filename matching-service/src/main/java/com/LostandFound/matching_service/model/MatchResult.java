@@ -6,6 +6,7 @@ import java.util.UUID;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -13,7 +14,13 @@ import jakarta.persistence.UniqueConstraint;
 @Entity
 @Table(
         name = "match_result",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"lost_item_id", "found_item_id"})
+        uniqueConstraints = @UniqueConstraint(columnNames = {"lost_item_id", "found_item_id"}),
+        // keyset pages ordered by (score, created_at, id) descending: all, per user and per lost item
+        indexes = {
+                @Index(name = "idx_match_result_user_rank", columnList = "lost_username, score, created_at, id"),
+                @Index(name = "idx_match_result_lost_rank", columnList = "lost_item_id, score, created_at, id"),
+                @Index(name = "idx_match_result_rank", columnList = "score, created_at, id")
+        }
 )
 public class MatchResult {
 
@@ -93,4 +100,8 @@ public class MatchResult {
     public Instant getCreatedAt() {
         return createdAt;
     }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
 }
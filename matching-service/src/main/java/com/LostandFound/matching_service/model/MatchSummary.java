@@ -0,0 +1,9 @@
+package com.LostandFound.matching_service.model;
+
+import java.time.Instant;
+
+/**
+ * A {@link MatchResult} without its (long) reason text, for list views.
+ */
+public record MatchSummary(String id, String lostItemId, String foundItemId, String lostUsername,
+                           double score, Instant createdAt) {}
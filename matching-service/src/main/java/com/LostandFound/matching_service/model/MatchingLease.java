@@ -0,0 +1,34 @@
+package com.LostandFound.matching_service.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A named lock held by one instance until {@code lockedUntil} (ShedLock style):
+ * an expired lease can be taken over, so a crashed holder never blocks for long.
+ */
+@Entity
+@Table(name = "matching_leases")
+public class MatchingLease {
+
+    @Id
+    private String name;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    public MatchingLease() {}
+
+    public String getName() { return name; }
+
+    public String getLockedBy() { return lockedBy; }
+
+    public Instant getLockedUntil() { return lockedUntil; }
+}
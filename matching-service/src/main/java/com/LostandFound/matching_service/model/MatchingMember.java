@@ -0,0 +1,35 @@
+package com.LostandFound.matching_service.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A live matching-service instance; rows whose heartbeat is older than the
+ * member TTL are treated as gone.
+ */
+@Entity
+@Table(name = "matching_members")
+public class MatchingMember {
+
+    @Id
+    @Column(name = "instance_id")
+    private String instanceId;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private Instant heartbeatAt;
+
+    public MatchingMember() {}
+
+    public MatchingMember(String instanceId, Instant heartbeatAt) {
+        this.instanceId = instanceId;
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public String getInstanceId() { return instanceId; }
+
+    public Instant getHeartbeatAt() { return heartbeatAt; }
+}
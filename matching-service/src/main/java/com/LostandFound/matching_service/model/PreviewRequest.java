@@ -0,0 +1,6 @@
+package com.LostandFound.matching_service.model;
+
+/**
+ * Draft lost report for /matches/preview. {@code limit} is optional.
+ */
+public record PreviewRequest(String description, String location, Integer limit) {}
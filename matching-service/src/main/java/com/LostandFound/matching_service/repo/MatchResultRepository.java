@@ -1,19 +1,52 @@
 package com.LostandFound.matching_service.repo;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.LostandFound.matching_service.model.MatchRank;
 import com.LostandFound.matching_service.model.MatchResult;
+import com.LostandFound.matching_service.model.MatchSummary;
 
 public interface MatchResultRepository extends JpaRepository<MatchResult, String> {
 
-    boolean existsByLostItemIdAndFoundItemId(String lostItemId, String foundItemId);
+    // stored matches (without reason text) for a batch of lost items, in one round-trip
+    @Query("select new com.LostandFound.matching_service.model.MatchRank(m.id, m.lostItemId, m.foundItemId, m.score) "
+            + "from MatchResult m where m.lostItemId in :lostItemIds")
+    List<MatchRank> findRanksByLostItemIdIn(@Param("lostItemIds") Collection<String> lostItemIds);
 
     List<MatchResult> findByLostItemIdOrderByScoreDescCreatedAtDesc(String lostItemId);
 
-    List<MatchResult> findByLostItemIdInOrderByScoreDescCreatedAtDesc(List<String> lostItemIds);
+    // keyset pages ordered by (score desc, createdAt desc, id desc): rows after the given sort key
+    String AFTER_CURSOR = "(m.score < :score or (m.score = :score and (m.createdAt < :createdAt "
+            + "or (m.createdAt = :createdAt and m.id < :id))))";
+    // all descending, so the rank indexes can be scanned backwards
+    String RANK_ORDER = " order by m.score desc, m.createdAt desc, m.id desc";
+    String SUMMARY = "select new com.LostandFound.matching_service.model.MatchSummary("
+            + "m.id, m.lostItemId, m.foundItemId, m.lostUsername, m.score, m.createdAt) ";
+
+    @Query("select m from MatchResult m where " + AFTER_CURSOR + RANK_ORDER)
+    List<MatchResult> findPage(@Param("score") double score, @Param("createdAt") Instant createdAt,
+                               @Param("id") String id, Limit limit);
+
+    @Query(SUMMARY + "from MatchResult m where " + AFTER_CURSOR + RANK_ORDER)
+    List<MatchSummary> findSummaryPage(@Param("score") double score, @Param("createdAt") Instant createdAt,
+                                       @Param("id") String id, Limit limit);
 
-    // ✅ NEW: fetch matches by username
-    List<MatchResult> findByLostUsernameOrderByScoreDescCreatedAtDesc(String lostUsername);
+    @Query("select m from MatchResult m where m.lostUsername = :username and " + AFTER_CURSOR + RANK_ORDER)
+    List<MatchResult> findPageByUsername(@Param("username") String username, @Param("score") double score,
+                                         @Param("createdAt") Instant createdAt, @Param("id") String id,
+                                         Limit limit);
+
+    @Query(SUMMARY + "from MatchResult m where m.lostUsername = :username and " + AFTER_CURSOR + RANK_ORDER)
+    List<MatchSummary> findSummaryPageByUsername(@Param("username") String username, @Param("score") double score,
+                                                 @Param("createdAt") Instant createdAt, @Param("id") String id,
+                                                 Limit limit);
+
+    List<MatchResult> findByLostItemIdInOrderByScoreDescCreatedAtDesc(List<String> lostItemIds);
 }
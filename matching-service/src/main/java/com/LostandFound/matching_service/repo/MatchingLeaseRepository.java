@@ -0,0 +1,34 @@
+package com.LostandFound.matching_service.repo;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.LostandFound.matching_service.model.MatchingLease;
+
+// each write runs in its own transaction, so a lost insert race only fails that statement
+public interface MatchingLeaseRepository extends JpaRepository<MatchingLease, String> {
+
+    // takes an expired lease, or extends one we already hold
+    @Transactional
+    @Modifying
+    @Query("update MatchingLease l set l.lockedBy = :owner, l.lockedUntil = :until "
+            + "where l.name = :name and (l.lockedUntil <= :now or l.lockedBy = :owner)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") Instant now, @Param("until") Instant until);
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into matching_leases (name, locked_by, locked_until) values (:name, :owner, :until)",
+            nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("until") Instant until);
+
+    @Transactional
+    @Modifying
+    @Query("update MatchingLease l set l.lockedUntil = :now where l.name = :name and l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
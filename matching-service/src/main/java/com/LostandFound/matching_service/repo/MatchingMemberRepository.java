@@ -0,0 +1,23 @@
+package com.LostandFound.matching_service.repo;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.LostandFound.matching_service.model.MatchingMember;
+
+public interface MatchingMemberRepository extends JpaRepository<MatchingMember, String> {
+
+    @Query("select m.instanceId from MatchingMember m where m.heartbeatAt > :since order by m.instanceId")
+    List<String> findLiveInstanceIds(@Param("since") Instant since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MatchingMember m where m.heartbeatAt <= :before")
+    int deleteStale(@Param("before") Instant before);
+}
@@ -0,0 +1,152 @@
+package com.LostandFound.matching_service.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.LostandFound.matching_service.config.BlockingProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Blocking stage in front of scoring: a token-index candidate is only scored
+ * when the two items are in compatible blocks, i.e. the same venue (or either
+ * venue unknown) and the found item was logged within the configured window
+ * around the loss report (or either date unknown).
+ *
+ * Metrics:
+ *  - matching.blocking.pairs{outcome=kept|blocked}: token candidates per outcome
+ *  - matching.blocking.matches{outcome=kept|blocked}: pairs over the score threshold
+ *    per outcome (blocked ones only counted with measure-recall)
+ *  - matching.blocking.reduction: share of candidates skipped in the last run
+ *  - matching.blocking.recall: share of would-be matches kept in the last run; only
+ *    registered with measure-recall, and NaN until a run had something to measure
+ */
+@Component
+public class CandidateBlocking {
+
+    /** Where an item falls for blocking purposes. */
+    record Block(int venue, long createdAt) {
+        static final Block UNKNOWN = new Block(Gazetteer.UNKNOWN, Long.MIN_VALUE);
+    }
+
+    /** Counts for one scoring pass; not thread-safe, one per chunk. */
+    static final class Stats {
+        long scored;
+        long kept;
+        long blocked;
+        long keptMatches;
+        long blockedMatches;
+
+        void add(Stats other) {
+            scored += other.scored;
+            kept += other.kept;
+            blocked += other.blocked;
+            keptMatches += other.keptMatches;
+            blockedMatches += other.blockedMatches;
+        }
+    }
+
+    private final boolean enabled;
+    private final boolean measureRecall;
+    private final Gazetteer gazetteer;
+    private final long beforeSeconds;
+    private final long afterSeconds;
+
+    private final Counter keptPairs;
+    private final Counter blockedPairs;
+    private final Counter keptMatches;
+    private final Counter blockedMatches;
+    // ratios * 1e6, so they fit a long; recall is -1 until measured
+    private final AtomicLong lastReduction = new AtomicLong();
+    private final AtomicLong lastRecall = new AtomicLong(-1);
+
+    public CandidateBlocking(BlockingProperties props, MeterRegistry registry) {
+        this.enabled = props.enabled();
+        this.measureRecall = props.enabled() && props.measureRecall();
+        this.gazetteer = new Gazetteer(props.venues());
+        this.beforeSeconds = props.foundBefore().toSeconds();
+        this.afterSeconds = props.foundAfter().toSeconds();
+
+        this.keptPairs = registry.counter("matching.blocking.pairs", "outcome", "kept");
+        this.blockedPairs = registry.counter("matching.blocking.pairs", "outcome", "blocked");
+        this.keptMatches = registry.counter("matching.blocking.matches", "outcome", "kept");
+        this.blockedMatches = registry.counter("matching.blocking.matches", "outcome", "blocked");
+        Gauge.builder("matching.blocking.reduction", lastReduction, v -> v.get() / 1e6)
+                .description("Share of token candidates skipped by blocking in the last run")
+                .register(registry);
+        if (measureRecall) {
+            Gauge.builder("matching.blocking.recall", lastRecall, v -> v.get() < 0 ? Double.NaN : v.get() / 1e6)
+                    .description("Share of would-be matches kept by blocking in the last run")
+                    .register(registry);
+        }
+    }
+
+    /** No blocking at all (every pair is compatible). */
+    static CandidateBlocking disabled() {
+        return new CandidateBlocking(
+                new BlockingProperties(false, Map.of(), Duration.ZERO, Duration.ZERO, false),
+                new SimpleMeterRegistry());
+    }
+
+    boolean enabled() {
+        return enabled;
+    }
+
+    boolean measureRecall() {
+        return measureRecall;
+    }
+
+    Block block(String location, Instant createdAt) {
+        if (!enabled) return Block.UNKNOWN;
+        return new Block(gazetteer.venueOf(location),
+                createdAt == null ? Long.MIN_VALUE : createdAt.getEpochSecond());
+    }
+
+    boolean compatible(Block lost, Block found) {
+        if (!enabled) return true;
+
+        if (lost.venue() != Gazetteer.UNKNOWN && found.venue() != Gazetteer.UNKNOWN
+                && lost.venue() != found.venue()) {
+            return false;
+        }
+        if (lost.createdAt() != Long.MIN_VALUE && found.createdAt() != Long.MIN_VALUE) {
+            long delta = found.createdAt() - lost.createdAt();
+            return delta >= -beforeSeconds && delta <= afterSeconds;
+        }
+        return true;
+    }
+
+    String venueName(int venue) {
+        return gazetteer.name(venue);
+    }
+
+    int venueId(String name) {
+        return gazetteer.id(name);
+    }
+
+    /** Publishes the counts of one run. */
+    void record(Stats run) {
+        if (!enabled) return;
+
+        keptPairs.increment(run.kept);
+        blockedPairs.increment(run.blocked);
+        keptMatches.increment(run.keptMatches);
+        blockedMatches.increment(run.blockedMatches);
+
+        long pairs = run.kept + run.blocked;
+        if (pairs > 0) {
+            lastReduction.set(run.blocked * 1_000_000 / pairs);
+        }
+        long matches = run.keptMatches + run.blockedMatches;
+        if (measureRecall && matches > 0) {
+            lastRecall.set(run.keptMatches * 1_000_000 / matches);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.LostandFound.matching_service.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary image of the matcher's in-memory state, so a restart only has to
+ * replay the change feeds instead of re-fetching and re-tokenizing everything.
+ *
+ * Layout (big-endian): magic, version, feed cursors, shard, the token
+ * dictionary in id order, then every found item (id, venue, createdAt, photo
+ * hash, feature ids) and every lost item (id, username, venue, createdAt, photo
+ * hash, feature ids). Venues
+ * are stored by name so gazetteer edits between restarts are harmless.
+ * Postings are not stored: they are
+ * rebuilt from the feature vectors on load, which needs no tokenizing.
+ *
+ * Written to a temp file and moved into place; read through a memory map.
+ */
+final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x4C464D49; // "LFMI"
+    private static final int VERSION = 4;
+
+    /** photo null = none; venue null = unknown; createdAt in epoch seconds, Long.MIN_VALUE = unknown. */
+    record Item(String id, String username, int[] features, Long photo, String venue, long createdAt) {}
+
+    final long foundCursor;
+    final long lostCursor;
+    final Shard shard;
+    final List<String> tokens;
+    final List<Item> found;
+    final List<Item> lost;
+
+    CatalogSnapshot(long foundCursor, long lostCursor, Shard shard,
+                    List<String> tokens, List<Item> found, List<Item> lost) {
+        this.foundCursor = foundCursor;
+        this.lostCursor = lostCursor;
+        this.shard = shard;
+        this.tokens = tokens;
+        this.found = found;
+        this.lost = lost;
+    }
+
+    void write(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+
+        try (OutputStream os = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(foundCursor);
+            out.writeLong(lostCursor);
+            out.writeInt(shard.index());
+            out.writeInt(shard.count());
+
+            out.writeInt(tokens.size());
+            for (String t : tokens) writeString(out, t);
+
+            writeItems(out, found, false);
+            writeItems(out, lost, true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static CatalogSnapshot read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not a matching snapshot (or an older format): " + file);
+            }
+            long foundCursor = in.getLong();
+            long lostCursor = in.getLong();
+            Shard shard = new Shard(in.getInt(), in.getInt());
+
+            int tokenCount = in.getInt();
+            List<String> tokens = new ArrayList<>(tokenCount);
+            for (int i = 0; i < tokenCount; i++) tokens.add(readString(in));
+
+            List<Item> found = readItems(in, false);
+            List<Item> lost = readItems(in, true);
+            return new CatalogSnapshot(foundCursor, lostCursor, shard, tokens, found, lost);
+        } catch (RuntimeException e) {
+            // truncated or garbled file (BufferUnderflowException, bad shard, ...)
+            throw new IOException("Corrupt matching snapshot: " + file, e);
+        }
+    }
+
+    private static void writeItems(DataOutputStream out, List<Item> items, boolean withUsername)
+            throws IOException {
+        out.writeInt(items.size());
+        for (Item item : items) {
+            writeString(out, item.id());
+            if (withUsername) writeString(out, item.username());
+            writeString(out, item.venue());
+            out.writeLong(item.createdAt());
+            out.writeBoolean(item.photo() != null);
+            out.writeLong(item.photo() == null ? 0 : item.photo());
+            out.writeInt(item.features().length);
+            for (int f : item.features()) out.writeInt(f);
+        }
+    }
+
+    private static List<Item> readItems(ByteBuffer in, boolean withUsername) {
+        int count = in.getInt();
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = readString(in);
+            String username = withUsername ? readString(in) : null;
+            String venue = readString(in);
+            long createdAt = in.getLong();
+            boolean hasPhoto = in.get() != 0;
+            long photo = in.getLong();
+            int[] features = new int[in.getInt()];
+            in.asIntBuffer().get(features);
+            in.position(in.position() + features.length * Integer.BYTES);
+            items.add(new Item(id, username, features, hasPhoto ? photo : null,
+                    venue.isEmpty() ? null : venue, createdAt));
+        }
+        return items;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] b = new byte[in.getInt()];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,145 @@
+package com.LostandFound.matching_service.service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.LostandFound.matching_service.model.MatchingMember;
+import com.LostandFound.matching_service.repo.MatchingLeaseRepository;
+import com.LostandFound.matching_service.repo.MatchingMemberRepository;
+
+/**
+ * Coordinates matching-service replicas through the match DB.
+ *
+ * Every instance heartbeats into matching_members; the live members, sorted by
+ * id, decide which {@link Shard} each one scores, so work rebalances as soon as
+ * an instance joins or its heartbeat expires. Per-slice leases in
+ * matching_leases keep two instances from scoring the same lost items while
+ * their views of the member list briefly disagree.
+ *
+ * Within one instance leases are re-entrant: a scheduled run and a batch of
+ * pushed events may hold the same lease, and it is only given back when the
+ * last of them releases it.
+ */
+@Service
+public class ClusterCoordinator {
+
+    private final MatchingMemberRepository members;
+    private final MatchingLeaseRepository leases;
+    private final String instanceId;
+    private final Duration memberTtl;
+    private final Duration leaseTime;
+
+    // leases this instance holds, with how many callers hold each
+    private final Map<String, Integer> held = new HashMap<>();
+
+    public ClusterCoordinator(MatchingMemberRepository members,
+                              MatchingLeaseRepository leases,
+                              @Value("${matching.cluster.instance-id:}") String instanceId,
+                              @Value("${matching.cluster.member-ttl-ms:60000}") long memberTtlMs,
+                              @Value("${matching.cluster.lease-ms:600000}") long leaseMs) {
+        this.members = members;
+        this.leases = leases;
+        this.instanceId = instanceId.isBlank() ? defaultInstanceId() : instanceId;
+        this.memberTtl = Duration.ofMillis(memberTtlMs);
+        this.leaseTime = Duration.ofMillis(leaseMs);
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    @Scheduled(fixedDelayString = "${matching.cluster.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Instant now = Instant.now();
+        members.save(new MatchingMember(instanceId, now));
+        members.deleteStale(now.minus(memberTtl));
+    }
+
+    /** This instance's slice, from the live member list (heartbeats first so it is on it). */
+    public Shard currentShard() {
+        heartbeat();
+        List<String> live = members.findLiveInstanceIds(Instant.now().minus(memberTtl));
+        int index = live.indexOf(instanceId);
+        return index < 0 ? Shard.ALL : new Shard(index, live.size());
+    }
+
+    /** True when this instance now holds the lease (newly taken, taken over after expiry, or extended). */
+    public synchronized boolean tryLease(String name) {
+        if (!acquire(name)) {
+            return false;
+        }
+        held.merge(name, 1, Integer::sum);
+        return true;
+    }
+
+    /** Gives the lease back once every caller that took it here has released it. */
+    public synchronized void release(String name) {
+        Integer holders = held.get(name);
+        if (holders != null && holders > 1) {
+            held.put(name, holders - 1);
+            return;
+        }
+        held.remove(name);
+        leases.release(name, instanceId, Instant.now());
+    }
+
+    private boolean acquire(String name) {
+        Instant now = Instant.now();
+        Instant until = now.plus(leaseTime);
+        if (leases.tryAcquire(name, instanceId, now, until) > 0) {
+            return true;
+        }
+        if (leases.existsById(name)) {
+            return false;
+        }
+        try {
+            return leases.insert(name, instanceId, until) > 0;
+        } catch (DataIntegrityViolationException e) {
+            // another instance created it first
+            return false;
+        }
+    }
+
+    /** Takes every lease or none: on the first one held elsewhere, the ones taken so far are released. */
+    public boolean tryLeaseAll(List<String> names) {
+        for (int i = 0; i < names.size(); i++) {
+            if (!tryLease(names.get(i))) {
+                releaseAll(names.subList(0, i));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void releaseAll(List<String> names) {
+        names.forEach(this::release);
+    }
+
+    // leave right away instead of waiting for the TTL, so the others rebalance sooner
+    @PreDestroy
+    public void leave() {
+        members.deleteById(instanceId);
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "matching";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
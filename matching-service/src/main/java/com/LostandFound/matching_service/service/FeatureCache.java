@@ -0,0 +1,98 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Precomputed token id vectors per item, kept across matching runs.
+ *
+ * Entries are keyed by item id and tagged with a fingerprint of the text they
+ * were built from; an item is only re-tokenized when that fingerprint changes.
+ * Items not seen during a pass are dropped by {@link #sweep()}.
+ */
+class FeatureCache {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile int pass;
+
+    private static final class Entry {
+        final long fingerprint;
+        final int[] features;
+        volatile int pass;
+
+        Entry(long fingerprint, int[] features, int pass) {
+            this.fingerprint = fingerprint;
+            this.features = features;
+            this.pass = pass;
+        }
+    }
+
+    /** Starts a new pass; entries not touched before the next {@link #sweep()} are evicted. */
+    void beginPass() {
+        pass++;
+    }
+
+    int[] get(String itemId, long fingerprint, Supplier<int[]> tokenizer) {
+        Entry e = entries.get(itemId);
+        if (e != null && e.fingerprint == fingerprint) {
+            e.pass = pass;
+            return e.features;
+        }
+
+        int[] features = tokenizer.get();
+        entries.put(itemId, new Entry(fingerprint, features, pass));
+        return features;
+    }
+
+    void remove(String itemId) {
+        entries.remove(itemId);
+    }
+
+    /** Drops entries for items that were not seen during the current pass. */
+    void sweep() {
+        int current = pass;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            if (it.next().pass != current) {
+                it.remove();
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * 64-bit FNV-1a over the given fields. Lists are hashed element by element;
+     * a separator between fields keeps ("ab", "c") and ("a", "bc") apart.
+     */
+    static long fingerprint(Object... fields) {
+        long h = FNV_OFFSET;
+        for (Object f : fields) {
+            if (f instanceof Iterable<?> values) {
+                for (Object v : values) {
+                    h = mix(h, String.valueOf(v));
+                    h = (h ^ 0x1F) * FNV_PRIME;
+                }
+            } else {
+                h = mix(h, String.valueOf(f));
+            }
+            h = (h ^ 0x1E) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static long mix(long h, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            h = (h ^ (c & 0xFF)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,63 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps free-text locations to canonical venue ids, e.g. "canteen", "cafeteria"
+ * and "food court" all to the same venue. A location mentioning no known phrase
+ * has no venue (-1). When several phrases occur, the longest one wins.
+ */
+final class Gazetteer {
+
+    static final int UNKNOWN = -1;
+
+    private record Alias(String phrase, int venue) {}
+
+    private final List<String> venues = new ArrayList<>();
+    private final List<Alias> aliases = new ArrayList<>();
+
+    Gazetteer(Map<String, List<String>> venueAliases) {
+        // sorted, so ids don't depend on map iteration order
+        for (Map.Entry<String, List<String>> e : new TreeMap<>(venueAliases).entrySet()) {
+            int venue = venues.size();
+            venues.add(e.getKey());
+            aliases.add(new Alias(normalize(e.getKey()), venue));
+            for (String phrase : e.getValue()) {
+                String p = normalize(phrase);
+                if (!p.isBlank()) aliases.add(new Alias(p, venue));
+            }
+        }
+        aliases.sort(Comparator.comparingInt((Alias a) -> a.phrase().length()).reversed());
+    }
+
+    int venueOf(String location) {
+        if (location == null || aliases.isEmpty()) return UNKNOWN;
+
+        String text = " " + normalize(location) + " ";
+        for (Alias a : aliases) {
+            if (text.contains(" " + a.phrase() + " ")) {
+                return a.venue();
+            }
+        }
+        return UNKNOWN;
+    }
+
+    String name(int venue) {
+        return venue == UNKNOWN ? null : venues.get(venue);
+    }
+
+    int id(String name) {
+        int venue = name == null ? UNKNOWN : venues.indexOf(name);
+        return venue < 0 ? UNKNOWN : venue;
+    }
+
+    // lowercase words separated by single spaces
+    private static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+}
@@ -0,0 +1,51 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.Arrays;
+
+/**
+ * Growable int[]; avoids boxing for postings and token id vectors.
+ */
+final class IntList {
+
+    int[] values;
+    int size;
+
+    IntList() {
+        this(4);
+    }
+
+    IntList(int capacity) {
+        values = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int v) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = v;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /** Sorted copy without duplicates. */
+    int[] toSortedSet() {
+        if (size == 0) return new int[0];
+
+        int[] a = toArray();
+        Arrays.sort(a);
+
+        int n = 1;
+        for (int i = 1; i < a.length; i++) {
+            if (a[i] != a[n - 1]) {
+                a[n++] = a[i];
+            }
+        }
+        return n == a.length ? a : Arrays.copyOf(a, n);
+    }
+}
@@ -0,0 +1,68 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.LostandFound.matching_service.model.ItemEvent;
+
+/**
+ * Queues item events from the item services and applies them on one background
+ * thread, in arrival order. The HTTP request returns as soon as the batch is
+ * queued; a full queue is reported back so the sender's outbox retries later.
+ */
+@Service
+public class ItemEventProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemEventProcessor.class);
+
+    private final MatchingJob job;
+    private final ClusterCoordinator cluster;
+    private final ThreadPoolExecutor executor;
+
+    public ItemEventProcessor(MatchingJob job,
+                              ClusterCoordinator cluster,
+                              @Value("${matching.events.queue-capacity:1000}") int queueCapacity) {
+        this.job = job;
+        this.cluster = cluster;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "match-events");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /** Returns false when the queue is full. */
+    public boolean submit(List<ItemEvent> events) {
+        try {
+            executor.execute(() -> apply(events));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void apply(List<ItemEvent> events) {
+        try {
+            job.applyEvents(events, cluster);
+        } catch (RuntimeException e) {
+            // the catalog was invalidated; the next scheduled run rebuilds it
+            log.warn("Applying {} item events failed: {}", events.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,243 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * In-memory inverted index: token id -> slots of the items that contain it.
+ *
+ * Slots are assigned in insertion order, so candidates come back in the same
+ * order the items were added (keeps matching output stable run to run).
+ * Replacing or removing an item leaves a dead slot behind; dead slots are
+ * skipped by queries and reclaimed once they outnumber the live ones.
+ *
+ * Mutate it on one thread; between mutations it can be queried concurrently,
+ * each thread passing its own {@link Scratch}.
+ */
+class KeywordIndex {
+
+    // don't bother compacting small indexes
+    private static final int COMPACT_MIN_DEAD = 1024;
+
+    // indexed by token id (ids are dense, see TokenDictionary)
+    private IntList[] postings = new IntList[256];
+    private final List<String> ids = new ArrayList<>();
+    private final List<int[]> features = new ArrayList<>();
+    private final Map<String, Integer> slots = new HashMap<>();
+    private int dead;
+
+    /** Per-thread scratch space for queries: marks slots already collected for a query. */
+    static final class Scratch {
+        private int[] seen = new int[0];
+        private int[] shared = new int[0];
+        private int stamp;
+        private final IntList out = new IntList(64);
+    }
+
+    /** Receives a slot and the number of query tokens its item contains. */
+    @FunctionalInterface
+    interface OverlapVisitor {
+        void accept(int slot, int shared);
+    }
+
+    // appends an item; callers make sure itemId is not indexed yet
+    private void add(String itemId, int[] itemFeatures) {
+        int slot = ids.size();
+        ids.add(itemId);
+        features.add(itemFeatures);
+        slots.put(itemId, slot);
+
+        for (int token : itemFeatures) {
+            if (token >= postings.length) {
+                postings = Arrays.copyOf(postings, Math.max(postings.length * 2, token + 1));
+            }
+            IntList list = postings[token];
+            if (list == null) {
+                list = postings[token] = new IntList();
+            }
+            list.add(slot);
+        }
+    }
+
+    /**
+     * Adds or replaces an item. Returns false when the item was already indexed
+     * with the same features (nothing to rescore).
+     */
+    boolean put(String itemId, int[] itemFeatures) {
+        Integer slot = slots.get(itemId);
+        if (slot != null) {
+            if (Arrays.equals(features.get(slot), itemFeatures)) {
+                return false;
+            }
+            kill(slot);
+        }
+        add(itemId, itemFeatures);
+        compactIfSparse();
+        return true;
+    }
+
+    boolean remove(String itemId) {
+        Integer slot = slots.remove(itemId);
+        if (slot == null) return false;
+
+        kill(slot);
+        compactIfSparse();
+        return true;
+    }
+
+    void clear() {
+        postings = new IntList[256];
+        ids.clear();
+        features.clear();
+        slots.clear();
+        dead = 0;
+    }
+
+    boolean contains(String itemId) {
+        return slots.containsKey(itemId);
+    }
+
+    /** Features of an indexed item, or null. */
+    int[] features(String itemId) {
+        Integer slot = slots.get(itemId);
+        return slot == null ? null : features.get(slot);
+    }
+
+    /** Number of live items. */
+    int size() {
+        return slots.size();
+    }
+
+    String id(int slot) {
+        return ids.get(slot);
+    }
+
+    int[] features(int slot) {
+        return features.get(slot);
+    }
+
+    /** Visits live items in insertion order. */
+    void forEach(BiConsumer<String, int[]> action) {
+        for (int slot = 0; slot < ids.size(); slot++) {
+            String id = ids.get(slot);
+            if (id != null) {
+                action.accept(id, features.get(slot));
+            }
+        }
+    }
+
+    /**
+     * Slots of every live item sharing at least one token with {@code query},
+     * ascending and without duplicates.
+     */
+    int[] candidates(int[] query, Scratch scratch) {
+        nextStamp(scratch);
+
+        int[] seen = scratch.seen;
+        int stamp = scratch.stamp;
+        IntList out = scratch.out;
+
+        out.clear();
+        for (int token : query) {
+            IntList list = token < postings.length ? postings[token] : null;
+            if (list == null) continue;
+
+            for (int i = 0; i < list.size; i++) {
+                int slot = list.values[i];
+                if (seen[slot] != stamp) {
+                    seen[slot] = stamp;
+                    if (ids.get(slot) != null) {
+                        out.add(slot);
+                    }
+                }
+            }
+        }
+
+        int[] result = out.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Visits every live item sharing at least {@code minShared} tokens with
+     * {@code query} (a sorted set), in no particular order. The counts come
+     * straight from the postings, so items' features are never read; equals
+     * {@link TokenVectors#overlap} for each item.
+     */
+    void overlaps(int[] query, int minShared, Scratch scratch, OverlapVisitor visitor) {
+        nextStamp(scratch);
+        if (scratch.shared.length < scratch.seen.length) {
+            scratch.shared = new int[scratch.seen.length];
+        }
+
+        int[] seen = scratch.seen;
+        int[] shared = scratch.shared;
+        int stamp = scratch.stamp;
+        IntList out = scratch.out;
+
+        out.clear();
+        for (int token : query) {
+            IntList list = token < postings.length ? postings[token] : null;
+            if (list == null) continue;
+
+            for (int i = 0; i < list.size; i++) {
+                int slot = list.values[i];
+                if (seen[slot] != stamp) {
+                    seen[slot] = stamp;
+                    shared[slot] = 1;
+                    out.add(slot);
+                } else {
+                    shared[slot]++;
+                }
+            }
+        }
+
+        for (int i = 0; i < out.size; i++) {
+            int slot = out.values[i];
+            if (shared[slot] >= minShared && ids.get(slot) != null) {
+                visitor.accept(slot, shared[slot]);
+            }
+        }
+    }
+
+    private void nextStamp(Scratch scratch) {
+        if (scratch.seen.length < ids.size()) {
+            scratch.seen = new int[ids.size()];
+            scratch.stamp = 0;
+        }
+        if (++scratch.stamp == Integer.MAX_VALUE) {
+            Arrays.fill(scratch.seen, 0);
+            scratch.stamp = 1;
+        }
+    }
+
+    private void kill(int slot) {
+        slots.remove(ids.get(slot));
+        ids.set(slot, null);
+        features.set(slot, null);
+        dead++;
+    }
+
+    // rebuild without dead slots, keeping insertion order
+    private void compactIfSparse() {
+        if (dead < COMPACT_MIN_DEAD || dead < slots.size()) return;
+
+        List<String> liveIds = new ArrayList<>(slots.size());
+        List<int[]> liveFeatures = new ArrayList<>(slots.size());
+        for (int slot = 0; slot < ids.size(); slot++) {
+            if (ids.get(slot) != null) {
+                liveIds.add(ids.get(slot));
+                liveFeatures.add(features.get(slot));
+            }
+        }
+
+        clear();
+        for (int i = 0; i < liveIds.size(); i++) {
+            add(liveIds.get(i), liveFeatures.get(i));
+        }
+    }
+}
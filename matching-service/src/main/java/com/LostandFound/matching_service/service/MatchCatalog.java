@@ -0,0 +1,133 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.LostandFound.matching_service.service.CandidateBlocking.Block;
+
+/**
+ * Everything the matcher keeps in memory between runs: token and photo-hash
+ * indexes over the found and the lost items, their blocking keys, lost-item
+ * owners, and how far each change feed has been applied.
+ *
+ * Only touched by MatchingJob while it holds its run lock. The found side is
+ * also read by previews off that lock, so found-side writes take foundLock.
+ */
+class MatchCatalog {
+
+    final KeywordIndex found = new KeywordIndex();
+    final KeywordIndex lost = new KeywordIndex();
+    final PhotoIndex foundPhotos = new PhotoIndex();
+    final PhotoIndex lostPhotos = new PhotoIndex();
+    private final Map<String, String> lostUsernames = new HashMap<>();
+    private final Map<String, Block> foundBlocks = new HashMap<>();
+    private final Map<String, Block> lostBlocks = new HashMap<>();
+
+    // found-side writes hold the write lock; previews hold the read lock
+    private final ReadWriteLock foundLock = new ReentrantReadWriteLock();
+
+    // read by the health check off the run lock
+    private volatile boolean loaded;
+    private long foundCursor;
+    private long lostCursor;
+
+    /** True when the item is new or its features, photo or block changed. */
+    boolean putFound(String id, int[] features, Long photo, Block block) {
+        Lock lock = foundLock.writeLock();
+        lock.lock();
+        try {
+            boolean moved = !block.equals(foundBlocks.put(id, block));
+            boolean rephotographed = foundPhotos.put(id, photo);
+            return found.put(id, features) || rephotographed || moved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void removeFound(String id) {
+        Lock lock = foundLock.writeLock();
+        lock.lock();
+        try {
+            found.remove(id);
+            foundPhotos.remove(id);
+            foundBlocks.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Hold this to read the found index and blocks off the run lock. */
+    Lock foundReadLock() {
+        return foundLock.readLock();
+    }
+
+    boolean putLost(String id, String username, int[] features, Long photo, Block block) {
+        lostUsernames.put(id, username);
+        boolean moved = !block.equals(lostBlocks.put(id, block));
+        boolean rephotographed = lostPhotos.put(id, photo);
+        return lost.put(id, features) || rephotographed || moved;
+    }
+
+    void removeLost(String id) {
+        lost.remove(id);
+        lostPhotos.remove(id);
+        lostUsernames.remove(id);
+        lostBlocks.remove(id);
+    }
+
+    Block foundBlock(String id) {
+        return foundBlocks.getOrDefault(id, Block.UNKNOWN);
+    }
+
+    Block lostBlock(String id) {
+        return lostBlocks.getOrDefault(id, Block.UNKNOWN);
+    }
+
+    String lostUsername(String id) {
+        return lostUsernames.get(id);
+    }
+
+    void clear() {
+        Lock lock = foundLock.writeLock();
+        lock.lock();
+        try {
+            found.clear();
+            foundPhotos.clear();
+            foundBlocks.clear();
+        } finally {
+            lock.unlock();
+        }
+        lost.clear();
+        lostPhotos.clear();
+        lostUsernames.clear();
+        lostBlocks.clear();
+        loaded = false;
+    }
+
+    /** Catalog reflects both services up to these cursors. */
+    void markLoaded(long foundCursor, long lostCursor) {
+        this.foundCursor = foundCursor;
+        this.lostCursor = lostCursor;
+        this.loaded = true;
+    }
+
+    /** Catalog can no longer be trusted; the next run rebuilds it. */
+    void invalidate() {
+        loaded = false;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    long foundCursor() {
+        return foundCursor;
+    }
+
+    long lostCursor() {
+        return lostCursor;
+    }
+}
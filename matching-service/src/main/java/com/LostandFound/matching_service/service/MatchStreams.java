@@ -0,0 +1,159 @@
+package com.LostandFound.matching_service.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.LostandFound.matching_service.model.MatchResult;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Open /matches/stream connections per username. Matches the job creates are
+ * sent to their user's connections as "match" events.
+ *
+ * A waiting connection is just an async request parked in Tomcat: no thread, a
+ * map entry and a comment line every heartbeat-ms to keep proxies from closing
+ * it. Sends, pings included, happen on one background thread so a slow client
+ * never holds up the job's write path or the shared scheduler (which also runs
+ * the cluster heartbeat); if that thread falls far behind, pushes are dropped
+ * (the next page load still shows the matches) and pings wait for the next round.
+ */
+@Component
+public class MatchStreams {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchStreams.class);
+
+    static final String MATCH_EVENT = "match";
+
+    private final long timeoutMs;
+    private final Map<String, Set<SseEmitter>> byUser = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1000), r -> {
+                Thread t = new Thread(r, "match-stream");
+                t.setDaemon(true);
+                return t;
+            });
+    // a ping round is waiting for the sender; don't queue another behind it
+    private final AtomicBoolean pingQueued = new AtomicBoolean();
+
+    public MatchStreams(@Value("${matching.stream.timeout-ms:1800000}") long timeoutMs, MeterRegistry registry) {
+        this.timeoutMs = timeoutMs;
+        Gauge.builder("matching.stream.connections", this, MatchStreams::connections)
+                .description("Open /matches/stream connections")
+                .register(registry);
+    }
+
+    /** A new stream for the user; it ends after timeout-ms and the client reconnects. */
+    public SseEmitter open(String username) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Set<SseEmitter> emitters = byUser.computeIfAbsent(username, u -> new CopyOnWriteArraySet<>());
+        emitters.add(emitter);
+
+        Runnable remove = () -> close(username, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // flushes the response headers, so the client knows it is connected
+        send(username, emitter, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @EventListener
+    public void onMatchesChanged(MatchesChanged event) {
+        Map<String, List<MatchResult>> created = event.created().stream()
+                .filter(m -> byUser.containsKey(m.getLostUsername()))
+                .collect(Collectors.groupingBy(MatchResult::getLostUsername));
+        if (created.isEmpty()) return;
+
+        try {
+            sender.execute(() -> created.forEach(this::push));
+        } catch (RejectedExecutionException e) {
+            log.warn("Match stream backlog full; dropped pushes for {} users", created.size());
+        }
+    }
+
+    // only queues the pings; the sends themselves may block on slow clients
+    @Scheduled(fixedDelayString = "${matching.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (byUser.isEmpty() || !pingQueued.compareAndSet(false, true)) return;
+        try {
+            sender.execute(() -> {
+                pingQueued.set(false);
+                ping();
+            });
+        } catch (RejectedExecutionException e) {
+            pingQueued.set(false);
+        }
+    }
+
+    private void ping() {
+        byUser.forEach((username, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(username, emitter, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    int connections() {
+        return byUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void push(String username, List<MatchResult> matches) {
+        Set<SseEmitter> emitters = byUser.get(username);
+        if (emitters == null) return;
+
+        for (MatchResult m : matches) {
+            for (SseEmitter emitter : emitters) {
+                SseEmitter.SseEventBuilder event = SseEmitter.event().name(MATCH_EVENT);
+                // unsaved matches have no id yet; "id:null" would come back as Last-Event-ID
+                if (m.getId() != null) event.id(m.getId());
+                send(username, emitter, event.data(m));
+            }
+        }
+    }
+
+    private void send(String username, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // client went away (or the emitter already completed)
+            close(username, emitter);
+        }
+    }
+
+    private void close(String username, SseEmitter emitter) {
+        byUser.computeIfPresent(username, (u, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        byUser.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        byUser.clear();
+    }
+}
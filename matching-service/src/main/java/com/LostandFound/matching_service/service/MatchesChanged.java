@@ -0,0 +1,12 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.List;
+import java.util.Set;
+
+import com.LostandFound.matching_service.model.MatchResult;
+
+/**
+ * Published after the matching job has written or deleted matches: the users
+ * whose match lists changed, and the matches that were created.
+ */
+public record MatchesChanged(Set<String> usernames, List<MatchResult> created) {}
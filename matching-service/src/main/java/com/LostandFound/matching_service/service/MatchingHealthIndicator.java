@@ -0,0 +1,28 @@
+package com.LostandFound.matching_service.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * "matching" health component: OUT_OF_SERVICE until the catalog is loaded and
+ * caught up with both item services, UP afterwards. Part of the readiness group.
+ */
+@Component
+public class MatchingHealthIndicator implements HealthIndicator {
+
+    private final MatchingJob job;
+
+    public MatchingHealthIndicator(MatchingJob job) {
+        this.job = job;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = job.isWarm() ? Health.up() : Health.outOfService();
+        return health
+                .withDetail("foundItems", job.foundCount())
+                .withDetail("lostItems", job.lostCount())
+                .build();
+    }
+}
@@ -1,20 +1,42 @@
 package com.LostandFound.matching_service.service;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
 
-import org.springframework.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.LostandFound.matching_service.client.ChangeFeed;
 import com.LostandFound.matching_service.client.FoundClient;
+import com.LostandFound.matching_service.client.FoundItem;
+import com.LostandFound.matching_service.client.ItemPage;
 import com.LostandFound.matching_service.client.LostClient;
+import com.LostandFound.matching_service.client.LostItem;
+import com.LostandFound.matching_service.config.PhotoProperties;
+import com.LostandFound.matching_service.model.ItemEvent;
+import com.LostandFound.matching_service.model.MatchPreview;
+import com.LostandFound.matching_service.model.MatchRank;
 import com.LostandFound.matching_service.model.MatchResult;
 import com.LostandFound.matching_service.repo.MatchResultRepository;
+import com.LostandFound.matching_service.service.CandidateBlocking.Block;
+import com.LostandFound.matching_service.service.CandidateBlocking.Stats;
 
 @Service
 public class MatchingJob {
@@ -23,109 +45,801 @@ public class MatchingJob {
     private final LostClient lostClient;
     private final MatchResultRepository repo;
 
-    // words we do NOT want to count as "keywords"
-    private static final Set<String> STOP = Set.of(
-            // common English
-            "the","and","for","with","from","that","this","was","were","are","been","have","has","had",
-            "not","but","you","your","my","our","their","his","her","its","into","over","near","left",
-            "in","on","at","to","of","a","an","is","it","as","by","or",
+    // venue / time-window blocks; only pairs in compatible blocks are scored
+    private final CandidateBlocking blocking;
+
+    // photo similarity: pairs whose photo hashes are at most photoDistance bits
+    // apart get up to photoWeight extra score (0 = photos ignored)
+    private final double photoWeight;
+    private final int photoDistance;
+    // whether a photo alone can reach MIN_SCORE; only then are photo neighbours
+    // without a shared token looked up (otherwise candidates compare hashes directly)
+    private final boolean photoOnlyMatches;
+
+    // tells per-user caches which match lists changed
+    private final ApplicationEventPublisher events;
+
+    // token sets survive across runs; only items whose text changed get re-tokenized
+    private final FeatureCache foundFeatures = new FeatureCache();
+    private final FeatureCache lostFeatures = new FeatureCache();
+
+    // minimum number of shared keywords for a match
+    private static final int MIN_SCORE = 2;
+
+    // matches kept per lost item (0 = unlimited); weaker stored ones are replaced
+    private final int topK;
+
+    // lost items per duplicate-lookup query / insert batch
+    private static final int CHUNK_SIZE = 500;
+
+    // changes fetched per change-feed request
+    private static final int FEED_PAGE_SIZE = 500;
+
+    // items fetched per page during a full rescan
+    private static final int CATALOG_PAGE_SIZE = 500;
+
+    // only these items are matchable; CLAIMED/RETURNED found items and MATCHED
+    // lost items are never fetched and are evicted when they change status
+    static final List<String> FOUND_STATUSES = List.of("AVAILABLE");
+    static final List<String> LOST_STATUSES = List.of("OPEN");
+
+    // indexes and feed cursors kept between runs
+    private final MatchCatalog catalog = new MatchCatalog();
+
+    // token <-> int id; features are sorted id vectors
+    private final TokenDictionary dictionary = new TokenDictionary();
 
-            // domain noise
-            "lost","found","item","items","please","contact","mail","admin","user","photo","image",
-            "class","row","seat","nearby"
-    );
+    // tokenizers keep a scratch buffer, so one per thread
+    private final ThreadLocal<Tokenizer> tokenizer = ThreadLocal.withInitial(Tokenizer::new);
+
+    // candidate marks for previews, which run on request threads
+    private final ThreadLocal<KeywordIndex.Scratch> previewScratch = ThreadLocal.withInitial(KeywordIndex.Scratch::new);
+
+    // lost items this instance scores when replicas split the work
+    private Shard shard = Shard.ALL;
+
+    // bumped whenever the catalog changes; lets snapshots skip unchanged state
+    private long revision;
+    private long snapshotRevision = -1;
+
+    // catalog has been synced with both services since startup
+    private volatile boolean synced;
+
+    // scores chunks of lost items in parallel; null when running sequentially
+    private final ForkJoinPool pool;
 
     public MatchingJob(FoundClient foundClient,
                        LostClient lostClient,
-                       MatchResultRepository repo) {
+                       MatchResultRepository repo,
+                       @Value("${matching.parallelism:0}") int parallelism,
+                       @Value("${matching.top-k:0}") int topK,
+                       CandidateBlocking blocking,
+                       PhotoProperties photos,
+                       ApplicationEventPublisher events) {
         this.foundClient = foundClient;
         this.lostClient = lostClient;
         this.repo = repo;
+        this.topK = topK;
+        this.blocking = blocking;
+        this.photoWeight = photos.weight();
+        this.photoDistance = photos.maxDistance();
+        this.photoOnlyMatches = photoWeight >= MIN_SCORE;
+        this.events = events;
+
+        // 0 = one worker per core, 1 = sequential on the calling thread
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = workers > 1 ? new ForkJoinPool(workers) : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Scheduled entry point (see MatchingRuns). The first run loads the catalog;
+     * after that only changed items are scored. A new shard means lost items this
+     * instance never scored, so it forces a full rescan.
+     */
+    public synchronized List<MatchResult> runMatching(Shard shard, MatchingRun run) {
+        if (!shard.equals(this.shard)) {
+            this.shard = shard;
+            catalog.invalidate();
+        }
+        if (catalog.isLoaded()) {
+            return runIncremental(run);
+        } else {
+            return runOnce(run);
+        }
     }
 
-    // run every 60 seconds (fixedDelay avoids overlap)
-    @Scheduled(fixedDelay = 60000)
-    public void runMatching() {
-        runOnce();
+    /** Full rescan of the given shard, whether or not the catalog is loaded. */
+    public synchronized List<MatchResult> rescan(Shard shard, MatchingRun run) {
+        this.shard = shard;
+        return runOnce(run);
     }
 
     public List<MatchResult> runOnce() {
-        List<Map<String, Object>> found = foundClient.getFoundItems();
-        List<Map<String, Object>> lost = lostClient.getLostItems();
+        return runOnce(MatchingRun.untracked());
+    }
+
+    /**
+     * Full rescan: reloads every found and lost item into the catalog and scores
+     * this instance's shard of lost items against all found items.
+     */
+    synchronized List<MatchResult> runOnce(MatchingRun run) {
+        // read the feed cursors first: anything that changes while the lists are
+        // being fetched is replayed (idempotently) by the next incremental run
+        long foundCursor = foundClient.getFoundChangesHead();
+        long lostCursor = lostClient.getLostChangesHead();
+
+        foundFeatures.beginPass();
+        lostFeatures.beginPass();
+        catalog.clear();
+
+        try {
+            // items arrive a page at a time and only their token vectors are kept.
+            // index found items once; each lost item is only scored against
+            // found items sharing at least one token with it
+            run.phase("fetch-found");
+            String after = null;
+            do {
+                ItemPage<FoundItem> page = foundClient.getFoundPage(after, CATALOG_PAGE_SIZE, FOUND_STATUSES);
+                for (FoundItem f : page.items()) {
+                    if (!matchable(f.status(), FOUND_STATUSES)) continue;
+                    putFound(f);
+                }
+                after = page.next();
+            } while (after != null);
+
+            run.phase("fetch-lost");
+            List<String> lostIds = new ArrayList<>();
+            do {
+                ItemPage<LostItem> page = lostClient.getLostPage(after, CATALOG_PAGE_SIZE, LOST_STATUSES);
+                for (LostItem l : page.items()) {
+                    if (!matchable(l.status(), LOST_STATUSES)) continue;
+                    String lostId = putLost(l);
+                    if (lostId != null && shard.owns(lostId)) lostIds.add(lostId);
+                }
+                after = page.next();
+            } while (after != null);
+
+            run.phase("score");
+            Stats stats = new Stats();
+            List<MatchResult> newlyCreated = scoreLost(lostIds, stats, run);
+            blocking.record(stats);
+
+            // forget items that are no longer listed
+            foundFeatures.sweep();
+            lostFeatures.sweep();
+
+            catalog.markLoaded(foundCursor, lostCursor);
+            revision++;
+            synced = true;
+            return newlyCreated;
+        } catch (RuntimeException e) {
+            catalog.invalidate();
+            throw e;
+        }
+    }
+
+    /**
+     * Applies the found/lost change feeds since the last run to the catalog and
+     * scores only what changed: changed lost items against all found items, and
+     * changed found items against the lost items that did not change.
+     */
+    public List<MatchResult> runIncremental() {
+        return runIncremental(MatchingRun.untracked());
+    }
+
+    synchronized List<MatchResult> runIncremental(MatchingRun run) {
+        if (!catalog.isLoaded()) {
+            return runOnce(run);
+        }
+
+        try {
+            run.phase("fetch-changes");
+            Changes changes = new Changes(run);
+
+            long foundCursor = catalog.foundCursor();
+            ChangeFeed<FoundItem> foundPage;
+            do {
+                foundPage = foundClient.getFoundChanges(foundCursor, FEED_PAGE_SIZE, FOUND_STATUSES);
+                foundPage.items().forEach(changes::upsertFound);
+                foundPage.deleted().forEach(changes::deleteFound);
+                foundCursor = foundPage.cursor();
+            } while (foundPage.hasMore());
+
+            long lostCursor = catalog.lostCursor();
+            ChangeFeed<LostItem> lostPage;
+            do {
+                lostPage = lostClient.getLostChanges(lostCursor, FEED_PAGE_SIZE, LOST_STATUSES);
+                lostPage.items().forEach(changes::upsertLost);
+                lostPage.deleted().forEach(changes::deleteLost);
+                lostCursor = lostPage.cursor();
+            } while (lostPage.hasMore());
+
+            run.phase("score");
+            List<MatchResult> newlyCreated = changes.score();
+
+            if (foundCursor != catalog.foundCursor() || lostCursor != catalog.lostCursor()) {
+                revision++;
+            }
+            catalog.markLoaded(foundCursor, lostCursor);
+            synced = true;
+            return newlyCreated;
+        } catch (RuntimeException e) {
+            // the catalog may be ahead of the saved matches now; rebuild next time
+            catalog.invalidate();
+            throw e;
+        }
+    }
+
+    /**
+     * Applies item events pushed by the item services and scores just those items,
+     * so a new lost/found item gets its matches without waiting for the next run.
+     *
+     * Feed cursors are left alone: the next incremental run sees the same changes
+     * again, finds the indexed features unchanged and skips them. Events that arrive
+     * before the catalog is loaded are dropped; the loading rescan covers them.
+     *
+     * Like a scheduled run, the batch only writes while holding the leases of the
+     * slices it scores. When another instance holds one of them (a rebalance is
+     * under way), the batch is dropped and the change feed brings it back.
+     */
+    public synchronized List<MatchResult> applyEvents(List<ItemEvent> events, ClusterCoordinator cluster) {
+        if (!catalog.isLoaded()) {
+            return List.of();
+        }
+
+        List<String> leases = leaseNames(events);
+        if (!cluster.tryLeaseAll(leases)) {
+            // their slices are being scored elsewhere
+            return List.of();
+        }
+        try {
+            Changes changes = new Changes(MatchingRun.untracked());
+            for (ItemEvent e : events) {
+                if (e.isDelete()) {
+                    if (ItemEvent.FOUND.equals(e.source())) changes.deleteFound(e.itemId());
+                    else if (ItemEvent.LOST.equals(e.source())) changes.deleteLost(e.itemId());
+                } else if (e.item() instanceof FoundItem f) {
+                    changes.upsertFound(f);
+                } else if (e.item() instanceof LostItem l) {
+                    changes.upsertLost(l);
+                }
+            }
+            revision++;
+            return changes.score();
+        } catch (RuntimeException e) {
+            catalog.invalidate();
+            throw e;
+        } finally {
+            cluster.releaseAll(leases);
+        }
+    }
+
+    // a pushed lost item is scored in its own slice; a found item against every lost item of this shard
+    private List<String> leaseNames(List<ItemEvent> events) {
+        Set<Integer> slices = new TreeSet<>();
+        for (ItemEvent e : events) {
+            if (e.isDelete()) continue;
+            if (e.item() instanceof FoundItem) {
+                return shard.leaseNames();
+            }
+            if (e.item() instanceof LostItem l && shard.owns(l.id())) {
+                slices.add(Shard.slice(l.id()));
+            }
+        }
+        return slices.stream().map(Shard::leaseName).toList();
+    }
+
+    // items whose features changed since the catalog was last scored
+    private final class Changes {
+        final Set<String> found = new LinkedHashSet<>();
+        final Set<String> lost = new LinkedHashSet<>();
+        final MatchingRun run;
+
+        Changes(MatchingRun run) {
+            this.run = run;
+        }
+
+        void upsertFound(FoundItem f) {
+            if (!matchable(f.status(), FOUND_STATUSES)) {
+                deleteFound(f.id());
+                return;
+            }
+            if (putFound(f)) {
+                found.add(f.id());
+            }
+        }
+
+        void deleteFound(String id) {
+            catalog.removeFound(id);
+            foundFeatures.remove(id);
+            found.remove(id);
+        }
+
+        void upsertLost(LostItem l) {
+            if (!matchable(l.status(), LOST_STATUSES)) {
+                deleteLost(l.id());
+                return;
+            }
+            String id = putLost(l);
+            if (id != null) {
+                lost.add(id);
+            }
+        }
+
+        void deleteLost(String id) {
+            catalog.removeLost(id);
+            lostFeatures.remove(id);
+            lost.remove(id);
+        }
+
+        List<MatchResult> score() {
+            List<String> ownLost = lost.stream().filter(shard::owns).toList();
+            Stats stats = new Stats();
+            List<MatchResult> newlyCreated = new ArrayList<>(scoreLost(ownLost, stats, run));
+            newlyCreated.addAll(scoreFound(new ArrayList<>(found), lost, stats, run));
+            blocking.record(stats);
+            return newlyCreated;
+        }
+    }
+
+    /**
+     * Found items a draft lost report would match right now, best first (at most
+     * {@code limit}). Reads the found index under its read lock rather than the
+     * run lock, so it answers while a run is in progress; nothing is written, and
+     * words the catalog has never seen are dropped instead of interned.
+     */
+    public List<MatchPreview> preview(String description, String location, int limit) {
+        int[] words = draftWords(description, location);
+        if (words.length == 0 || limit < 1) {
+            return List.of();
+        }
+        Block draft = blocking.block(location, Instant.now());
+
+        // weakest first; on equal scores the later slot goes first
+        PriorityQueue<PreviewHit> top = new PriorityQueue<>(
+                Comparator.comparingDouble(PreviewHit::score).thenComparing(PreviewHit::slot, Comparator.reverseOrder()));
+
+        Lock lock = catalog.foundReadLock();
+        lock.lock();
+        try {
+            KeywordIndex index = catalog.found;
+            index.overlaps(words, MIN_SCORE, previewScratch.get(), (slot, shared) -> {
+                double score = shared;
+                if (top.size() == limit) {
+                    PreviewHit weakest = top.peek();
+                    if (score < weakest.score() || (score == weakest.score() && slot > weakest.slot())) return;
+                }
+                if (!blocking.compatible(draft, catalog.foundBlock(index.id(slot)))) return;
+
+                top.add(new PreviewHit(slot, index.id(slot), score));
+                if (top.size() > limit) top.poll();
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        List<PreviewHit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(PreviewHit::score).reversed().thenComparingInt(PreviewHit::slot));
+        return hits.stream().map(h -> new MatchPreview(h.foundId(), h.score())).toList();
+    }
+
+    private record PreviewHit(int slot, String foundId, double score) {}
+
+    // like lostWords, but only tokens the dictionary already knows (others can't match anything)
+    private int[] draftWords(String desc, String loc) {
+        IntList words = new IntList();
+        Tokenizer.TokenSink sink = (b, n) -> {
+            int id = dictionary.lookup(new String(b, 0, n));
+            if (id >= 0) words.add(id);
+        };
+
+        Tokenizer t = tokenizer.get();
+        t.tokenize(desc, sink);
+        t.tokenize(loc, sink);
+        return words.toSortedSet();
+    }
+
+    /** True once the catalog is loaded and has caught up with both services since startup. */
+    public boolean isWarm() {
+        return synced && catalog.isLoaded();
+    }
+
+    /**
+     * Writes the catalog to {@code file} unless nothing changed since the last
+     * snapshot. State is captured under the run lock; the file is written after
+     * releasing it (feature vectors are never mutated in place).
+     */
+    boolean writeSnapshot(Path file) throws IOException {
+        CatalogSnapshot snapshot;
+        long rev;
+        synchronized (this) {
+            if (!catalog.isLoaded() || revision == snapshotRevision) {
+                return false;
+            }
+            List<String> tokens = new ArrayList<>(dictionary.size());
+            for (int id = 0, n = dictionary.size(); id < n; id++) {
+                tokens.add(dictionary.token(id));
+            }
+            List<CatalogSnapshot.Item> found = new ArrayList<>(catalog.found.size());
+            catalog.found.forEach((id, f) ->
+                    found.add(snapshotItem(id, null, f, catalog.foundPhotos.hash(id), catalog.foundBlock(id))));
+            List<CatalogSnapshot.Item> lost = new ArrayList<>(catalog.lost.size());
+            catalog.lost.forEach((id, f) ->
+                    lost.add(snapshotItem(id, catalog.lostUsername(id), f, catalog.lostPhotos.hash(id), catalog.lostBlock(id))));
+
+            snapshot = new CatalogSnapshot(catalog.foundCursor(), catalog.lostCursor(), shard, tokens, found, lost);
+            rev = revision;
+        }
+
+        snapshot.write(file);
+        synchronized (this) {
+            snapshotRevision = Math.max(snapshotRevision, rev);
+        }
+        return true;
+    }
+
+    /**
+     * Loads a snapshot into a fresh job. The next run then only replays the
+     * change feeds after the snapshot's cursors. Returns false if this job
+     * already has state of its own.
+     */
+    synchronized boolean restoreSnapshot(CatalogSnapshot snapshot) {
+        if (catalog.isLoaded() || dictionary.size() > 0) {
+            return false;
+        }
+
+        for (int id = 0; id < snapshot.tokens.size(); id++) {
+            if (dictionary.intern(snapshot.tokens.get(id)) != id) {
+                throw new IllegalStateException("Snapshot dictionary has duplicate tokens");
+            }
+        }
+        for (CatalogSnapshot.Item f : snapshot.found) {
+            catalog.putFound(f.id(), f.features(), f.photo(), snapshotBlock(f));
+        }
+        for (CatalogSnapshot.Item l : snapshot.lost) {
+            catalog.putLost(l.id(), l.username(), l.features(), l.photo(), snapshotBlock(l));
+        }
+
+        shard = snapshot.shard;
+        catalog.markLoaded(snapshot.foundCursor, snapshot.lostCursor);
+        snapshotRevision = revision;
+        return true;
+    }
+
+    private CatalogSnapshot.Item snapshotItem(String id, String username, int[] features, Long photo, Block block) {
+        return new CatalogSnapshot.Item(id, username, features, photo, blocking.venueName(block.venue()),
+                block.createdAt());
+    }
+
+    private Block snapshotBlock(CatalogSnapshot.Item item) {
+        if (!blocking.enabled()) return Block.UNKNOWN;
+        return new Block(blocking.venueId(item.venue()), item.createdAt());
+    }
+
+    int foundCount() {
+        return catalog.found.size();
+    }
+
+    int lostCount() {
+        return catalog.lost.size();
+    }
+
+    // items without a status predate the status field and stay matchable
+    private static boolean matchable(String status, List<String> statuses) {
+        return status == null || statuses.contains(status);
+    }
+
+    // indexes one lost item; returns its id, or null when it was already indexed unchanged
+    private String putLost(LostItem l) {
+        String lostId = l.id();
+
+        // extract username from lost item
+        String lostUsername = l.username() == null ? "" : l.username();
+
+        int[] lostWords = lostFeatures.get(lostId, FeatureCache.fingerprint(l.description(), l.location()),
+                () -> lostWords(l.description(), l.location()));
+
+        Block block = blocking.block(l.location(), l.createdAt());
+        return catalog.putLost(lostId, lostUsername, lostWords, l.imageHash(), block) ? lostId : null;
+    }
+
+    private boolean putFound(FoundItem f) {
+        return catalog.putFound(f.id(), foundWords(f), f.imageHash(), blocking.block(f.location(), f.createdAt()));
+    }
+
+    // scores the given lost items against every found item in the catalog
+    private List<MatchResult> scoreLost(List<String> lostIds, Stats total, MatchingRun run) {
+        List<MatchResult> newlyCreated = new ArrayList<>();
+
+        // one query for stored matches and one batched write per chunk of lost items.
+        // chunks are scored in parallel; this thread is the single writer and saves
+        // them in chunk order, so output order matches the sequential path
+        List<Future<Batch>> scored = new ArrayList<>();
+        List<Stats> chunkStats = new ArrayList<>();
+        for (int from = 0; from < lostIds.size(); from += CHUNK_SIZE) {
+            List<String> chunk = lostIds.subList(from, Math.min(from + CHUNK_SIZE, lostIds.size()));
+            Stats stats = new Stats();
+            chunkStats.add(stats);
+            if (pool != null) {
+                scored.add(pool.submit(() -> scoreChunk(chunk, stats, run)));
+            } else {
+                newlyCreated.addAll(save(scoreChunk(chunk, stats, run), run));
+            }
+        }
+        for (Future<Batch> chunk : scored) {
+            newlyCreated.addAll(save(await(chunk), run));
+        }
+        chunkStats.forEach(total::add);
+        return newlyCreated;
+    }
+
+    // scores one chunk of lost items without writing anything; safe to call from pool threads
+    private Batch scoreChunk(List<String> lostIds, Stats stats, MatchingRun run) {
+        // stored matches for this chunk: known pairs are skipped, and each lost
+        // item's top K starts from what is already saved
+        TopMatches top = new TopMatches(topK, repo.findRanksByLostItemIdIn(lostIds));
+
+        KeywordIndex index = catalog.found;
+        KeywordIndex.Scratch scratch = new KeywordIndex.Scratch();
+
+        for (String lostId : lostIds) {
+            int[] lostWords = catalog.lost.features(lostId);
+            Block lostBlock = catalog.lostBlock(lostId);
+            Long lostPhoto = catalog.lostPhotos.hash(lostId);
+            Map<String, Integer> photos = similarPhotos(lostPhoto, catalog.foundPhotos);
+
+            for (int slot : index.candidates(lostWords, scratch)) {
+                String foundId = index.id(slot);
+                int[] foundWords = index.features(slot);
+                Integer distance = photos.isEmpty()
+                        ? closePhotos(lostPhoto, catalog.foundPhotos.hash(foundId))
+                        : photos.remove(foundId);
+                if (blocked(lostBlock, catalog.foundBlock(foundId), lostWords, foundWords, distance, stats)) continue;
+
+                double score = score(lostWords, foundWords, distance, stats);
+                if (score >= MIN_SCORE) top.offer(lostId, foundId, score);
+            }
+
+            // similar photos without a shared token
+            for (Map.Entry<String, Integer> photo : photos.entrySet()) {
+                String foundId = photo.getKey();
+                int[] foundWords = catalog.found.features(foundId);
+                if (blocked(lostBlock, catalog.foundBlock(foundId), lostWords, foundWords, photo.getValue(), stats)) continue;
 
+                double score = score(lostWords, foundWords, photo.getValue(), stats);
+                if (score >= MIN_SCORE) top.offer(lostId, foundId, score);
+            }
+        }
+        run.scored(stats.scored);
+
+        return batch(top);
+    }
+
+    // scores changed found items against this shard's lost items that are not in skipLost
+    private List<MatchResult> scoreFound(List<String> foundIds, Set<String> skipLost, Stats stats, MatchingRun run) {
         List<MatchResult> newlyCreated = new ArrayList<>();
+        KeywordIndex index = catalog.lost;
+        KeywordIndex.Scratch scratch = new KeywordIndex.Scratch();
 
-        for (Map<String, Object> l : lost) {
-            String lostId = String.valueOf(l.get("id"));
+        for (int from = 0; from < foundIds.size(); from += CHUNK_SIZE) {
+            List<String> chunk = foundIds.subList(from, Math.min(from + CHUNK_SIZE, foundIds.size()));
 
-            // extract username from lost item
-            String lostUsername = String.valueOf(l.getOrDefault("username", ""));
+            // score first: the top K to compare against belongs to the lost items hit
+            long scoredBefore = stats.scored;
+            List<MatchRank> pairs = new ArrayList<>();
+            Set<String> hitLost = new LinkedHashSet<>();
+            for (String foundId : chunk) {
+                int[] foundWords = catalog.found.features(foundId);
+                Block foundBlock = catalog.foundBlock(foundId);
+                Long foundPhoto = catalog.foundPhotos.hash(foundId);
+                Map<String, Integer> photos = similarPhotos(foundPhoto, catalog.lostPhotos);
 
-            String desc = String.valueOf(l.getOrDefault("description", ""));
-            String loc = String.valueOf(l.getOrDefault("location", ""));
-            Set<String> lostWords = tokenize(desc + " " + loc);
+                for (int slot : index.candidates(foundWords, scratch)) {
+                    String lostId = index.id(slot);
+                    Integer distance = photos.isEmpty()
+                            ? closePhotos(catalog.lostPhotos.hash(lostId), foundPhoto)
+                            : photos.remove(lostId);
+                    if (skipLost.contains(lostId) || !shard.owns(lostId)) continue;
 
-            for (Map<String, Object> f : found) {
-                String foundId = String.valueOf(f.get("id"));
+                    int[] lostWords = index.features(slot);
+                    if (blocked(catalog.lostBlock(lostId), foundBlock, lostWords, foundWords, distance, stats)) continue;
 
-                // prevent duplicate matches
-                if (repo.existsByLostItemIdAndFoundItemId(lostId, foundId)) {
-                    continue;
+                    double score = score(lostWords, foundWords, distance, stats);
+                    if (score >= MIN_SCORE) {
+                        pairs.add(new MatchRank(null, lostId, foundId, score));
+                        hitLost.add(lostId);
+                    }
                 }
 
-                // build found words from text fields + keywords
-                Set<String> foundWords = new HashSet<>();
-
-                // include title / description / location
-                foundWords.addAll(tokenize(String.valueOf(f.getOrDefault("title", ""))));
-                foundWords.addAll(tokenize(String.valueOf(f.getOrDefault("description", ""))));
-                foundWords.addAll(tokenize(String.valueOf(f.getOrDefault("location", ""))));
-
-                // include keywords if present
-                Object kwsObj = f.get("keywords");
-                if (kwsObj instanceof List<?>) {
-                    for (Object o : (List<?>) kwsObj) {
-                        String kw = String.valueOf(o).toLowerCase().trim();
-                        if (!kw.isEmpty() && kw.length() >= 3 && !STOP.contains(kw) && !kw.matches("\\d+")) {
-                            foundWords.add(kw);
-                        }
+                // similar photos without a shared token
+                for (Map.Entry<String, Integer> photo : photos.entrySet()) {
+                    String lostId = photo.getKey();
+                    if (skipLost.contains(lostId) || !shard.owns(lostId)) continue;
+
+                    int[] lostWords = catalog.lost.features(lostId);
+                    if (blocked(catalog.lostBlock(lostId), foundBlock, lostWords, foundWords, photo.getValue(), stats)) continue;
+
+                    double score = score(lostWords, foundWords, photo.getValue(), stats);
+                    if (score >= MIN_SCORE) {
+                        pairs.add(new MatchRank(null, lostId, foundId, score));
+                        hitLost.add(lostId);
                     }
                 }
+            }
+            run.scored(stats.scored - scoredBefore);
+            if (pairs.isEmpty()) continue;
+
+            TopMatches top = new TopMatches(topK, repo.findRanksByLostItemIdIn(hitLost));
+            pairs.forEach(p -> top.offer(p.lostItemId(), p.foundItemId(), p.score()));
+            newlyCreated.addAll(save(batch(top), run));
+        }
+        return newlyCreated;
+    }
+
+    // true when blocking rules the pair out; with measure-recall, also notes whether it would have matched
+    private boolean blocked(Block lost, Block found, int[] lostWords, int[] foundWords, Integer photoDistance,
+                            Stats stats) {
+        if (!blocking.enabled()) return false;
+
+        if (blocking.compatible(lost, found)) {
+            stats.kept++;
+            return false;
+        }
+        stats.blocked++;
+        if (blocking.measureRecall()
+                && TokenVectors.overlap(lostWords, foundWords) + photoBonus(photoDistance) >= MIN_SCORE) {
+            stats.blockedMatches++;
+        }
+        return true;
+    }
 
-                // compute overlap
-                Set<String> common = new HashSet<>(lostWords);
-                common.retainAll(foundWords);
+    // shared keywords of a pair plus the photo bonus; counts it when it clears MIN_SCORE
+    private double score(int[] lostWords, int[] foundWords, Integer photoDistance, Stats stats) {
+        stats.scored++;
+        double score = TokenVectors.overlap(lostWords, foundWords) + photoBonus(photoDistance);
+        // two decimals are plenty for ranking and keep stored scores readable
+        score = Math.round(score * 100) / 100.0;
+        if (score >= MIN_SCORE) {
+            stats.keptMatches++;
+        }
+        return score;
+    }
 
-                double score = common.size();
+    // items in `photos` whose hash is within photoDistance bits of `hash`, with their distance;
+    // empty unless a photo alone can make a match
+    private Map<String, Integer> similarPhotos(Long hash, PhotoIndex photos) {
+        if (hash == null || !photoOnlyMatches) return Map.of();
 
-                // keep threshold = 2
-                if (score >= 2) {
-                    List<String> sortedCommon = common.stream()
-                            .sorted()
-                            .toList();
+        Map<String, Integer> near = new LinkedHashMap<>();
+        photos.near(hash, photoDistance, near::put);
+        return near;
+    }
 
-                    MatchResult mr = new MatchResult();
-                    mr.setLostItemId(lostId);
-                    mr.setFoundItemId(foundId);
-                    mr.setLostUsername(lostUsername);
-                    mr.setScore(score);
-                    mr.setReason("Common keywords: " + String.join(", ", sortedCommon));
+    // distance of two photo hashes when within photoDistance, else null
+    private Integer closePhotos(Long lostPhoto, Long foundPhoto) {
+        if (lostPhoto == null || foundPhoto == null || photoWeight <= 0) return null;
+        int distance = PhotoIndex.distance(lostPhoto, foundPhoto);
+        return distance <= photoDistance ? distance : null;
+    }
 
-                    newlyCreated.add(repo.save(mr));
-                }
+    // photoWeight for identical photos, falling linearly with distance; 0 without a photo match
+    private double photoBonus(Integer distance) {
+        if (distance == null || photoWeight <= 0) return 0;
+        return photoWeight * (1 - distance / (photoDistance + 1.0));
+    }
+
+    // match_result changes for one batch: new top-K pairs to insert, pushed-out ones to
+    // delete, and the users whose match lists that changes
+    private record Batch(List<MatchResult> toSave, List<String> toDelete, Set<String> users) {}
+
+    private Batch batch(TopMatches top) {
+        List<MatchResult> toSave = new ArrayList<>();
+        Set<String> users = new LinkedHashSet<>();
+        for (TopMatches.Candidate c : top.added()) {
+            int[] lostWords = catalog.lost.features(c.lostItemId());
+            int[] foundWords = catalog.found.features(c.foundItemId());
+
+            MatchResult mr = new MatchResult();
+            mr.setLostItemId(c.lostItemId());
+            mr.setFoundItemId(c.foundItemId());
+            mr.setLostUsername(catalog.lostUsername(c.lostItemId()));
+            mr.setScore(c.score());
+            mr.setReason(reason(c, lostWords, foundWords));
+            toSave.add(mr);
+            users.add(mr.getLostUsername());
+        }
+        top.evictedFrom().forEach(lostId -> users.add(catalog.lostUsername(lostId)));
+        return new Batch(toSave, top.evicted(), users);
+    }
+
+    // decodes words only for pairs that made it
+    private String reason(TopMatches.Candidate c, int[] lostWords, int[] foundWords) {
+        List<String> sortedCommon = TokenVectors.common(lostWords, foundWords, dictionary);
+        String reason = sortedCommon.isEmpty() ? "" : "Common keywords: " + String.join(", ", sortedCommon);
+
+        Long lostPhoto = catalog.lostPhotos.hash(c.lostItemId());
+        Long foundPhoto = catalog.foundPhotos.hash(c.foundItemId());
+        if (photoWeight > 0 && lostPhoto != null && foundPhoto != null) {
+            int distance = PhotoIndex.distance(lostPhoto, foundPhoto);
+            if (distance <= photoDistance) {
+                reason += (reason.isEmpty() ? "Similar photo" : "; similar photo") + " (" + distance + " bits apart)";
             }
         }
+        return reason;
+    }
 
-        return newlyCreated;
+    private List<MatchResult> save(Batch batch, MatchingRun run) {
+        // delete first so the table never holds more than K per lost item
+        if (!batch.toDelete().isEmpty()) {
+            repo.deleteAllByIdInBatch(batch.toDelete());
+        }
+        List<MatchResult> saved = batch.toSave().isEmpty() ? List.of() : repo.saveAll(batch.toSave());
+        run.created(saved.size());
+
+        // after the write, so a reader that misses reloads the new rows
+        if (!batch.users().isEmpty()) {
+            events.publishEvent(new MatchesChanged(batch.users(), saved));
+        }
+        return saved;
     }
 
-    private Set<String> tokenize(String s) {
-        if (s == null) return Set.of();
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Matching run interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // found words for one item, re-tokenized only when its text changed
+    private int[] foundWords(FoundItem f) {
+        return foundFeatures.get(f.id(),
+                FeatureCache.fingerprint(f.title(), f.description(), f.location(), f.keywords()),
+                () -> foundWords(f.title(), f.description(), f.location(), f.keywords()));
+    }
+
+    private int[] lostWords(String desc, String loc) {
+        IntList words = new IntList();
+        Tokenizer.TokenSink sink = (b, n) -> words.add(dictionary.intern(new String(b, 0, n)));
+
+        Tokenizer t = tokenizer.get();
+        t.tokenize(desc, sink);
+        t.tokenize(loc, sink);
+        return words.toSortedSet();
+    }
+
+    // build found words from text fields + keywords
+    private int[] foundWords(String title, String desc, String loc, List<String> keywords) {
+        IntList foundWords = new IntList();
+        Tokenizer.TokenSink sink = (b, n) -> foundWords.add(dictionary.intern(new String(b, 0, n)));
+
+        // include title / description / location
+        Tokenizer t = tokenizer.get();
+        t.tokenize(title, sink);
+        t.tokenize(desc, sink);
+        t.tokenize(loc, sink);
 
-        return Arrays.stream(s.toLowerCase().split("[^a-z0-9]+"))
-                .filter(w -> w.length() >= 3)
-                .filter(w -> !STOP.contains(w))
-                .filter(w -> !w.matches("\\d+")) // ignore pure numbers like 201
-                .collect(Collectors.toSet());
+        // include keywords if present
+        if (keywords != null) {
+            for (String o : keywords) {
+                if (o == null) continue;
+                String kw = Tokenizer.normalizeKeyword(o);
+                if (kw != null) {
+                    foundWords.add(dictionary.intern(kw));
+                }
+            }
+        }
+        return foundWords.toSortedSet();
     }
 }
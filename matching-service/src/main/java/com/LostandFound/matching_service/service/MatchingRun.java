@@ -0,0 +1,108 @@
+package com.LostandFound.matching_service.service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One matching run as seen from outside: state, current phase and counters.
+ * The run's thread updates it; status requests read it at any time.
+ */
+public final class MatchingRun {
+
+    public enum Trigger { MANUAL, SCHEDULED }
+
+    public enum State { QUEUED, RUNNING, SUCCEEDED, SKIPPED, FAILED }
+
+    /** Point-in-time view; phaseMillis includes the time spent so far in the current phase. */
+    public record Status(String id, Trigger trigger, State state, String phase,
+                         long pairsScored, long matchesCreated, Map<String, Long> phaseMillis,
+                         Instant submittedAt, Instant startedAt, Instant finishedAt, String error) {}
+
+    private final String id;
+    private final Trigger trigger;
+    private final Instant submittedAt = Instant.now();
+
+    private final LongAdder pairsScored = new LongAdder();
+    private final LongAdder matchesCreated = new LongAdder();
+
+    // guarded by this
+    private State state = State.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    private String phase;
+    private long phaseStart;
+
+    MatchingRun(String id, Trigger trigger) {
+        this.id = id;
+        this.trigger = trigger;
+    }
+
+    /** For runs nobody asked about (item events, tests). */
+    static MatchingRun untracked() {
+        return new MatchingRun("untracked", Trigger.SCHEDULED);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Trigger trigger() {
+        return trigger;
+    }
+
+    synchronized boolean inFlight() {
+        return state == State.QUEUED || state == State.RUNNING;
+    }
+
+    synchronized void started() {
+        state = State.RUNNING;
+        startedAt = Instant.now();
+    }
+
+    /** Ends the current phase (if any) and starts timing the next one. */
+    synchronized void phase(String name) {
+        endPhase();
+        phase = name;
+        phaseStart = System.nanoTime();
+    }
+
+    void scored(long pairs) {
+        pairsScored.add(pairs);
+    }
+
+    void created(long matches) {
+        matchesCreated.add(matches);
+    }
+
+    synchronized void finished(State state, String error) {
+        endPhase();
+        this.state = state;
+        this.error = error;
+        this.finishedAt = Instant.now();
+    }
+
+    public synchronized Status status() {
+        Map<String, Long> phases = new LinkedHashMap<>(phaseMillis);
+        if (phase != null) {
+            phases.merge(phase, elapsedMillis(), Long::sum);
+        }
+        return new Status(id, trigger, state, phase, pairsScored.sum(), matchesCreated.sum(), phases,
+                submittedAt, startedAt, finishedAt, error);
+    }
+
+    private void endPhase() {
+        if (phase != null) {
+            phaseMillis.merge(phase, elapsedMillis(), Long::sum);
+            phase = null;
+        }
+    }
+
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStart);
+    }
+}
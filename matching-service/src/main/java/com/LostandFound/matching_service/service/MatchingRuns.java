@@ -0,0 +1,106 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.LostandFound.matching_service.service.MatchingRun.State;
+import com.LostandFound.matching_service.service.MatchingRun.Trigger;
+
+/**
+ * Runs the matcher in the background, one run at a time. Manual and scheduled
+ * requests that arrive while a run is queued or running join that run instead
+ * of starting another, so callers get its id back and can poll its status.
+ *
+ * Each run works out this instance's shard and holds the leases of all its
+ * slices while it runs; if another instance still holds one of them, the run
+ * ends as SKIPPED. Manual runs
+ * rescan the whole catalog, scheduled ones only score what changed.
+ */
+@Service
+public class MatchingRuns {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchingRuns.class);
+
+    // finished runs kept for status lookups
+    private static final int HISTORY = 20;
+
+    private final MatchingJob job;
+    private final ClusterCoordinator cluster;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "matching-run");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // guarded by this
+    private final Map<String, MatchingRun> recent = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MatchingRun> eldest) {
+            return size() > HISTORY;
+        }
+    };
+    private MatchingRun current;
+
+    public MatchingRuns(MatchingJob job, ClusterCoordinator cluster) {
+        this.job = job;
+        this.cluster = cluster;
+    }
+
+    /** Starts a run, or returns the one already queued or running. */
+    public synchronized MatchingRun submit(Trigger trigger) {
+        if (current != null && current.inFlight()) {
+            return current;
+        }
+        MatchingRun run = new MatchingRun(UUID.randomUUID().toString(), trigger);
+        recent.put(run.id(), run);
+        current = run;
+        executor.execute(() -> execute(run));
+        return run;
+    }
+
+    /** A recent run by id, or null. */
+    public synchronized MatchingRun find(String id) {
+        return recent.get(id);
+    }
+
+    private void execute(MatchingRun run) {
+        List<String> leases = List.of();
+        try {
+            // both touch the database; a failure here must still end the run, or submit() joins it forever
+            Shard shard = cluster.currentShard();
+            if (!cluster.tryLeaseAll(shard.leaseNames())) {
+                run.finished(State.SKIPPED, "Shard " + shard.index() + "/" + shard.count()
+                        + " overlaps slices another instance is matching");
+                return;
+            }
+            leases = shard.leaseNames();
+            run.started();
+            if (run.trigger() == Trigger.MANUAL) {
+                job.rescan(shard, run);
+            } else {
+                job.runMatching(shard, run);
+            }
+            run.finished(State.SUCCEEDED, null);
+        } catch (RuntimeException e) {
+            log.warn("Matching run {} failed: {}", run.id(), e.getMessage());
+            run.finished(State.FAILED, e.getMessage());
+        } finally {
+            cluster.releaseAll(leases);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
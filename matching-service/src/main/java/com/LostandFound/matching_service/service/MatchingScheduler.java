@@ -0,0 +1,27 @@
+package com.LostandFound.matching_service.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.LostandFound.matching_service.service.MatchingRun.Trigger;
+
+/**
+ * Periodic matching for one replica. The run itself happens on the MatchingRuns
+ * thread (shard, lease and all); if a manual run is still going, this one joins
+ * it instead of starting a second.
+ */
+@Service
+public class MatchingScheduler {
+
+    private final MatchingRuns runs;
+
+    public MatchingScheduler(MatchingRuns runs) {
+        this.runs = runs;
+    }
+
+    // every 60 seconds; runs never overlap (see MatchingRuns)
+    @Scheduled(fixedDelay = 60000)
+    public void run() {
+        runs.submit(Trigger.SCHEDULED);
+    }
+}
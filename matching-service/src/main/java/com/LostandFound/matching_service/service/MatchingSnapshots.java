@@ -0,0 +1,71 @@
+package com.LostandFound.matching_service.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the matcher's snapshot file up to date and restores it on startup, so a
+ * restarted instance is warm after replaying the change feeds instead of after
+ * a full rescan. A missing or unreadable snapshot just means a full rescan.
+ */
+@Service
+public class MatchingSnapshots {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchingSnapshots.class);
+
+    private final MatchingJob job;
+    private final Path file;
+    private final boolean enabled;
+
+    public MatchingSnapshots(MatchingJob job,
+                             @Value("${matching.snapshot.path:}") String path) {
+        this.job = job;
+        this.enabled = !path.isBlank();
+        this.file = enabled ? Paths.get(path) : null;
+    }
+
+    // runs before the scheduler starts, so the first run is already incremental
+    @PostConstruct
+    public void restore() {
+        if (!enabled || !Files.exists(file)) return;
+
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshot snapshot = CatalogSnapshot.read(file);
+            if (job.restoreSnapshot(snapshot)) {
+                log.info("Restored matching snapshot: {} found / {} lost items in {} ms",
+                        snapshot.found.size(), snapshot.lost.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring matching snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${matching.snapshot.interval-ms:300000}",
+            fixedDelayString = "${matching.snapshot.interval-ms:300000}")
+    public void save() {
+        if (!enabled) return;
+        try {
+            job.writeSnapshot(file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Writing matching snapshot {} failed: {}", file, e.getMessage());
+        }
+    }
+
+    // one last snapshot on a clean shutdown
+    @PreDestroy
+    public void shutdown() {
+        save();
+    }
+}
@@ -0,0 +1,139 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Photo hashes (64-bit dHash) by item id, with a multi-index hash table for
+ * Hamming-distance lookups.
+ *
+ * Each hash is split into four 16-bit chunks and every chunk value has its own
+ * bucket of ids. Two hashes within distance r agree to within r/4 bits on at
+ * least one chunk (pigeonhole), so a lookup probes only the buckets of chunk
+ * values that close to the query's and checks the full distance of what it
+ * finds there; the rest of the catalog is never touched.
+ *
+ * Hashes with very few (or very many) set bits are left out: plain or flat
+ * photos all hash close to 0, so they would look alike however unrelated they
+ * are.
+ *
+ * Not thread-safe; guarded like the rest of MatchCatalog.
+ */
+final class PhotoIndex {
+
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_BITS = 16;
+
+    // fewer set bits than this (or more than 64 minus this) and a hash says little about the photo
+    static final int MIN_SET_BITS = 8;
+
+    private final Map<String, Long> hashes = new HashMap<>();
+    private final List<Map<Integer, Set<String>>> buckets = new ArrayList<>(CHUNKS);
+
+    PhotoIndex() {
+        for (int i = 0; i < CHUNKS; i++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /** Sets or clears (null, or not {@link #informative}) an item's hash. Returns true when it changed. */
+    boolean put(String id, Long hash) {
+        if (hash == null || !informative(hash)) {
+            return remove(id);
+        }
+        Long old = hashes.put(id, hash);
+        if (hash.equals(old)) {
+            return false;
+        }
+        if (old != null) {
+            unlink(id, old);
+        }
+        for (int i = 0; i < CHUNKS; i++) {
+            buckets.get(i).computeIfAbsent(chunk(hash, i), k -> new LinkedHashSet<>()).add(id);
+        }
+        return true;
+    }
+
+    boolean remove(String id) {
+        Long old = hashes.remove(id);
+        if (old == null) return false;
+
+        unlink(id, old);
+        return true;
+    }
+
+    void clear() {
+        hashes.clear();
+        buckets.forEach(Map::clear);
+    }
+
+    /** The item's hash, or null. */
+    Long hash(String id) {
+        return hashes.get(id);
+    }
+
+    int size() {
+        return hashes.size();
+    }
+
+    /** Visits each item within {@code maxDistance} bits of {@code hash} once, with its distance. */
+    void near(long hash, int maxDistance, ObjIntConsumer<String> visitor) {
+        if (maxDistance < 0 || hashes.isEmpty()) return;
+
+        int radius = maxDistance / CHUNKS;
+        Set<String> seen = new LinkedHashSet<>();
+        for (int i = 0; i < CHUNKS; i++) {
+            Map<Integer, Set<String>> chunkBuckets = buckets.get(i);
+            probe(chunk(hash, i), 0, radius, value -> {
+                Set<String> ids = chunkBuckets.get(value);
+                if (ids == null) return;
+                for (String id : ids) {
+                    if (!seen.add(id)) continue;
+                    int distance = distance(hash, hashes.get(id));
+                    if (distance <= maxDistance) {
+                        visitor.accept(id, distance);
+                    }
+                }
+            });
+        }
+    }
+
+    static boolean informative(long hash) {
+        int bits = Long.bitCount(hash);
+        return bits >= MIN_SET_BITS && bits <= Long.SIZE - MIN_SET_BITS;
+    }
+
+    static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    // every chunk value within radius bits of value, flipping bits from position `from` up
+    private static void probe(int value, int from, int radius, IntConsumer action) {
+        action.accept(value);
+        if (radius == 0) return;
+        for (int bit = from; bit < CHUNK_BITS; bit++) {
+            probe(value ^ (1 << bit), bit + 1, radius - 1, action);
+        }
+    }
+
+    private void unlink(String id, long hash) {
+        for (int i = 0; i < CHUNKS; i++) {
+            Map<Integer, Set<String>> chunkBuckets = buckets.get(i);
+            int key = chunk(hash, i);
+            Set<String> ids = chunkBuckets.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                chunkBuckets.remove(key);
+            }
+        }
+    }
+
+    private static int chunk(long hash, int i) {
+        return (int) (hash >>> (i * CHUNK_BITS)) & 0xffff;
+    }
+}
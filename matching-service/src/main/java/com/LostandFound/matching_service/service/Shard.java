@@ -0,0 +1,54 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The slice of lost items one instance scores. Lost ids hash into a fixed
+ * number of {@link #SLICES}; with {@code count} instances, this one owns the
+ * slices whose number is {@code index} modulo {@code count}. Instances that
+ * agree on the member list split the lost items without overlap.
+ *
+ * Leases are taken per slice, not per shard, so two instances whose views of
+ * the member count disagree (0-of-2 vs 0-of-3 during a rebalance) still
+ * contend for the same lease rows wherever their work overlaps.
+ */
+public record Shard(int index, int count) {
+
+    /** Fixed slice count; more instances than this leaves the extra ones idle. */
+    public static final int SLICES = 32;
+
+    public static final Shard ALL = new Shard(0, 1);
+
+    public Shard {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("bad shard " + index + "/" + count);
+        }
+    }
+
+    public boolean owns(String lostItemId) {
+        return count == 1 || ownsSlice(slice(lostItemId));
+    }
+
+    /** Leases guarding this shard's slices, in slice order (so instances take them in the same order). */
+    List<String> leaseNames() {
+        List<String> names = new ArrayList<>();
+        for (int slice = 0; slice < SLICES; slice++) {
+            if (ownsSlice(slice)) names.add(leaseName(slice));
+        }
+        return names;
+    }
+
+    static String leaseName(int slice) {
+        return "matching-slice-" + slice;
+    }
+
+    // String.hashCode is specified, so every instance puts an id in the same slice
+    static int slice(String lostItemId) {
+        return Math.floorMod(lostItemId.hashCode(), SLICES);
+    }
+
+    private boolean ownsSlice(int slice) {
+        return slice % count == index;
+    }
+}
@@ -0,0 +1,54 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global token dictionary: every token (or keyword) gets a dense int id.
+ *
+ * Item features are stored as sorted id vectors, so comparing two items is an
+ * int merge instead of string hashing. Ids are never reused or removed.
+ * Safe for concurrent use.
+ */
+final class TokenDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] tokens = new String[1024];
+    private int size;
+
+    int intern(String token) {
+        Integer id = ids.get(token);
+        if (id != null) return id;
+
+        synchronized (this) {
+            id = ids.get(token);
+            if (id != null) return id;
+
+            String[] t = tokens;
+            if (size == t.length) {
+                t = Arrays.copyOf(t, size * 2);
+            }
+            t[size] = token;
+            tokens = t;
+
+            id = size++;
+            ids.put(token, id);
+            return id;
+        }
+    }
+
+    /** Id of a known token, or -1. */
+    int lookup(String token) {
+        Integer id = ids.get(token);
+        return id == null ? -1 : id;
+    }
+
+    String token(int id) {
+        return tokens[id];
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,50 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operations on sorted, duplicate-free token id vectors.
+ */
+final class TokenVectors {
+
+    private TokenVectors() {}
+
+    /** Number of ids present in both vectors (sorted merge, no allocation). */
+    static int overlap(int[] a, int[] b) {
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            int x = a[i], y = b[j];
+            if (x == y) {
+                n++;
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return n;
+    }
+
+    /** Tokens present in both vectors, decoded and sorted alphabetically. */
+    static List<String> common(int[] a, int[] b, TokenDictionary dict) {
+        List<String> out = new ArrayList<>();
+        int i = 0, j = 0;
+        while (i < a.length && j < b.length) {
+            int x = a[i], y = b[j];
+            if (x == y) {
+                out.add(dict.token(x));
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        out.sort(null);
+        return out;
+    }
+}
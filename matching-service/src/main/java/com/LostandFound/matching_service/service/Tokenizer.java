@@ -0,0 +1,147 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Single-pass tokenizer used by the matching job.
+ *
+ * Same rules as the old {@code toLowerCase().split("[^a-z0-9]+")} pipeline:
+ * tokens are runs of [a-z0-9] after lowercasing, at least 3 chars long, not a
+ * stop-word and not a pure number. Characters are written into a reusable
+ * buffer and handed to a {@link TokenSink}; nothing is allocated per character.
+ *
+ * Instances keep that buffer, so they are not thread-safe.
+ */
+final class Tokenizer {
+
+    static final int MIN_LENGTH = 3;
+
+    // words we do NOT want to count as "keywords"
+    static final Set<String> STOP = Set.of(
+            // common English
+            "the","and","for","with","from","that","this","was","were","are","been","have","has","had",
+            "not","but","you","your","my","our","their","his","her","its","into","over","near","left",
+            "in","on","at","to","of","a","an","is","it","as","by","or",
+
+            // domain noise
+            "lost","found","item","items","please","contact","mail","admin","user","photo","image",
+            "class","row","seat","nearby"
+    );
+
+    // stop-words packed base-37 into a long (see pack()) so lookups need no String
+    private static final long[] STOP_CODES;
+    private static final int STOP_MAX_LENGTH;
+
+    static {
+        STOP_CODES = STOP.stream().mapToLong(Tokenizer::pack).sorted().toArray();
+        STOP_MAX_LENGTH = STOP.stream().mapToInt(String::length).max().orElse(0);
+    }
+
+    /** Receives each accepted token; {@code buf} is reused after the call returns. */
+    @FunctionalInterface
+    interface TokenSink {
+        void accept(char[] buf, int len);
+    }
+
+    private char[] buf = new char[32];
+
+    /** Feeds every token of {@code s} to {@code sink}; duplicates are not filtered. */
+    void tokenize(CharSequence s, TokenSink sink) {
+        if (s == null) return;
+
+        int len = 0;
+        boolean digitsOnly = true;
+
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            boolean endsToken = false;
+
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            } else if (c >= 0x80) {
+                // a few non-ASCII letters lowercase into [a-z] (e.g. KELVIN SIGN -> 'k');
+                // U+0130 lowercases to "i" + combining dot, and that dot splits the token
+                endsToken = c == '\u0130';
+                c = Character.toLowerCase(c);
+            }
+
+            boolean letter = c >= 'a' && c <= 'z';
+            boolean digit = c >= '0' && c <= '9';
+
+            if (letter || digit) {
+                if (len == buf.length) {
+                    buf = Arrays.copyOf(buf, len * 2);
+                }
+                buf[len++] = c;
+                digitsOnly &= digit;
+
+                if (!endsToken) continue;
+            }
+
+            emit(len, digitsOnly, sink);
+            len = 0;
+            digitsOnly = true;
+        }
+
+        emit(len, digitsOnly, sink);
+    }
+
+    /** Convenience for callers that want a set of strings. */
+    Set<String> tokenize(String s) {
+        Set<String> out = new HashSet<>();
+        tokenize(s, (b, n) -> out.add(new String(b, 0, n)));
+        return out;
+    }
+
+    private void emit(int len, boolean digitsOnly, TokenSink sink) {
+        // ignore pure numbers like 201
+        if (len < MIN_LENGTH || digitsOnly || isStopWord(buf, len)) return;
+        sink.accept(buf, len);
+    }
+
+    /**
+     * A found-item keyword is kept whole (not split): lowercased and trimmed, then
+     * rejected if shorter than 3, a stop-word or a pure number. Returns null when rejected.
+     */
+    static String normalizeKeyword(Object keyword) {
+        String kw = String.valueOf(keyword).toLowerCase(Locale.ROOT).trim();
+        if (kw.length() < MIN_LENGTH || isDigits(kw) || STOP.contains(kw)) {
+            return null;
+        }
+        return kw;
+    }
+
+    private static boolean isDigits(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    private static boolean isStopWord(char[] b, int len) {
+        if (len > STOP_MAX_LENGTH) return false;
+
+        long code = 0;
+        for (int i = 0; i < len; i++) {
+            code = code * 37 + digit37(b[i]);
+        }
+        return Arrays.binarySearch(STOP_CODES, code) >= 0;
+    }
+
+    // 'a'..'z' -> 1..26, '0'..'9' -> 27..36; 0 is never used, so lengths stay distinct
+    private static long pack(String word) {
+        long code = 0;
+        for (int i = 0; i < word.length(); i++) {
+            code = code * 37 + digit37(word.charAt(i));
+        }
+        return code;
+    }
+
+    private static int digit37(char c) {
+        return c >= 'a' ? c - 'a' + 1 : c - '0' + 27;
+    }
+}
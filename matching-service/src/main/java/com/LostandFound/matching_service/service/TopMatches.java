@@ -0,0 +1,95 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.LostandFound.matching_service.model.MatchKey;
+import com.LostandFound.matching_service.model.MatchRank;
+
+/**
+ * Best {@code k} matches per lost item for one scoring batch.
+ *
+ * Each lost item gets a min-heap of at most k entries, seeded with the matches
+ * already stored for it. A candidate only gets in by beating the weakest entry;
+ * on equal scores the entry that was there first stays, so reruns are stable.
+ * Stored matches pushed out end up in {@link #evicted()} (their lost items in
+ * {@link #evictedFrom()}), new ones that stayed in {@link #added()}.
+ *
+ * Not thread-safe; use one per batch.
+ */
+final class TopMatches {
+
+    /** A new pair that made it into the top k. */
+    record Candidate(String lostItemId, String foundItemId, double score, long order) {}
+
+    private record Entry(String storedId, String foundItemId, double score, long order) {}
+
+    // weakest first: lowest score, then the latest arrival
+    private static final Comparator<Entry> WEAKEST_FIRST =
+            Comparator.comparingDouble(Entry::score).thenComparing(Comparator.comparingLong(Entry::order).reversed());
+
+    private final int k;
+    private final Map<String, PriorityQueue<Entry>> heaps = new HashMap<>();
+    private final Set<MatchKey> seen = new HashSet<>();
+    private final List<String> evicted = new ArrayList<>();
+    private final Set<String> evictedFrom = new LinkedHashSet<>();
+    private long order;
+
+    /** @param k matches kept per lost item; 0 or less = unlimited */
+    TopMatches(int k, List<MatchRank> stored) {
+        this.k = k > 0 ? k : Integer.MAX_VALUE;
+        for (MatchRank m : stored) {
+            seen.add(new MatchKey(m.lostItemId(), m.foundItemId()));
+            push(m.lostItemId(), new Entry(m.id(), m.foundItemId(), m.score(), order++));
+        }
+    }
+
+    /** Offers a scored pair; pairs already stored or offered are ignored. */
+    void offer(String lostItemId, String foundItemId, double score) {
+        if (!seen.add(new MatchKey(lostItemId, foundItemId))) return;
+        push(lostItemId, new Entry(null, foundItemId, score, order++));
+    }
+
+    private void push(String lostItemId, Entry entry) {
+        PriorityQueue<Entry> heap = heaps.computeIfAbsent(lostItemId, id -> new PriorityQueue<>(WEAKEST_FIRST));
+        heap.add(entry);
+        if (heap.size() > k) {
+            Entry weakest = heap.poll();
+            if (weakest.storedId() != null) {
+                evicted.add(weakest.storedId());
+                evictedFrom.add(lostItemId);
+            }
+        }
+    }
+
+    /** New pairs still in the top k, in the order they were offered. */
+    List<Candidate> added() {
+        List<Candidate> out = new ArrayList<>();
+        heaps.forEach((lostItemId, heap) -> {
+            for (Entry e : heap) {
+                if (e.storedId() == null) {
+                    out.add(new Candidate(lostItemId, e.foundItemId(), e.score(), e.order()));
+                }
+            }
+        });
+        out.sort(Comparator.comparingLong(Candidate::order));
+        return out;
+    }
+
+    /** Ids of stored matches that fell out of the top k. */
+    List<String> evicted() {
+        return evicted;
+    }
+
+    /** Lost items that lost at least one stored match. */
+    Set<String> evictedFrom() {
+        return evictedFrom;
+    }
+}
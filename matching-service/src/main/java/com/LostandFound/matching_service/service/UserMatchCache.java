@@ -0,0 +1,126 @@
+package com.LostandFound.matching_service.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.LostandFound.matching_service.model.MatchPage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-through cache of /matches/by-user pages, per username.
+ *
+ * Holds at most max-users users (least recently used go first); each cached
+ * page expires ttl-ms after it was loaded. A user's pages are dropped as soon
+ * as the matching job writes or deletes matches for that user (see
+ * {@link MatchesChanged}). A load that overlaps such a write is returned but
+ * not cached, so the cache never keeps rows older than the last write.
+ *
+ * Other replicas' writes are not seen here; the TTL bounds that staleness.
+ *
+ * Metrics follow Micrometer's cache names: cache.gets{result=hit|miss},
+ * cache.evictions and cache.size, tagged cache=user-matches.
+ */
+@Component
+public class UserMatchCache {
+
+    private static final String CACHE = "user-matches";
+
+    // distinct pages (cursor / limit / view) kept per user
+    private static final int MAX_PAGES_PER_USER = 16;
+
+    private static final class Entry {
+        final Map<String, Page> pages = new HashMap<>();
+        // bumped on every invalidation; loads started before it are not cached
+        long version;
+    }
+
+    private record Page(MatchPage page, long loadedAt) {}
+
+    private final long ttlNanos;
+    private final int maxUsers;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    // access order, so the eldest entry is the least recently used; guarded by this
+    private final LinkedHashMap<String, Entry> users = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxUsers) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public UserMatchCache(@Value("${matching.user-cache.ttl-ms:60000}") long ttlMs,
+                          @Value("${matching.user-cache.max-users:10000}") int maxUsers,
+                          MeterRegistry registry) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxUsers = maxUsers;
+        this.hits = registry.counter("cache.gets", "cache", CACHE, "result", "hit");
+        this.misses = registry.counter("cache.gets", "cache", CACHE, "result", "miss");
+        this.evictions = registry.counter("cache.evictions", "cache", CACHE);
+        Gauge.builder("cache.size", this, UserMatchCache::size)
+                .tag("cache", CACHE)
+                .description("Users with cached match pages")
+                .register(registry);
+    }
+
+    /** The cached page for (username, key), or the loader's result, cached while nothing changes. */
+    public MatchPage get(String username, String key, Supplier<MatchPage> loader) {
+        Entry entry;
+        long version;
+        synchronized (this) {
+            entry = users.computeIfAbsent(username, u -> new Entry());
+            Page cached = entry.pages.get(key);
+            if (cached != null && System.nanoTime() - cached.loadedAt() < ttlNanos) {
+                hits.increment();
+                return cached.page();
+            }
+            version = entry.version;
+        }
+
+        misses.increment();
+        long loadedAt = System.nanoTime();
+        MatchPage page = loader.get();
+
+        synchronized (this) {
+            // skip if the user was invalidated or evicted meanwhile
+            if (users.get(username) == entry && entry.version == version) {
+                if (entry.pages.size() >= MAX_PAGES_PER_USER && !entry.pages.containsKey(key)) {
+                    entry.pages.clear();
+                }
+                entry.pages.put(key, new Page(page, loadedAt));
+            }
+        }
+        return page;
+    }
+
+    @EventListener
+    public synchronized void onMatchesChanged(MatchesChanged event) {
+        for (String username : event.usernames()) {
+            Entry entry = users.get(username);
+            if (entry != null) {
+                entry.version++;
+                entry.pages.clear();
+            }
+        }
+    }
+
+    synchronized int size() {
+        return users.size();
+    }
+}
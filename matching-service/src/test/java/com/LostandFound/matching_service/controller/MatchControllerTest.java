@@ -1,27 +1,66 @@
 package com.LostandFound.matching_service.controller;
 
+import com.LostandFound.matching_service.client.FoundItem;
+import com.LostandFound.matching_service.model.ItemEvent;
+import com.LostandFound.matching_service.model.MatchCursor;
+import com.LostandFound.matching_service.model.MatchPage;
+import com.LostandFound.matching_service.model.MatchPreview;
 import com.LostandFound.matching_service.model.MatchResult;
+import com.LostandFound.matching_service.model.MatchSummary;
 import com.LostandFound.matching_service.repo.MatchResultRepository;
+import com.LostandFound.matching_service.service.ItemEventProcessor;
 import com.LostandFound.matching_service.service.MatchingJob;
+import com.LostandFound.matching_service.service.MatchingRun;
+import com.LostandFound.matching_service.service.MatchStreams;
+import com.LostandFound.matching_service.service.MatchesChanged;
+import com.LostandFound.matching_service.service.MatchingRuns;
+import com.LostandFound.matching_service.service.UserMatchCache;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(MatchController.class)
+@Import({MatchStreams.class, SimpleMeterRegistry.class})
 class MatchControllerTest {
 
     @Autowired MockMvc mvc;
+    @Autowired MatchStreams streams;
 
+    @MockBean MatchingRuns runs;
     @MockBean MatchingJob job;
     @MockBean MatchResultRepository repo;
+    @MockBean ItemEventProcessor events;
+    @MockBean UserMatchCache userCache;
+
+    @BeforeEach
+    void readThroughCache() {
+        when(userCache.get(any(), any(), any())).thenAnswer(inv -> inv.<Supplier<MatchPage>>getArgument(2).get());
+    }
 
     @Test
     void all_shouldReturnList() throws Exception {
@@ -32,14 +71,162 @@ class MatchControllerTest {
         m.setScore(3.0);
         m.setReason("Common keywords: wallet, black, id");
 
-        when(repo.findAll()).thenReturn(List.of(m));
+        when(repo.findPage(Double.MAX_VALUE, Instant.EPOCH, "", Limit.of(100))).thenReturn(List.of(m));
 
         mvc.perform(get("/matches"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(MatchController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].lostItemId").value("lost1"))
                 .andExpect(jsonPath("$[0].foundItemId").value("found1"))
                 .andExpect(jsonPath("$[0].lostUsername").value("user1"))
                 .andExpect(jsonPath("$[0].score").value(3.0))
                 .andExpect(jsonPath("$[0].reason").value("Common keywords: wallet, black, id"));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void events_bindItemToFoundOrLostBySource() throws Exception {
+        String body = "["
+                + "{\"source\":\"FOUND\",\"type\":\"UPSERT\",\"itemId\":\"F1\",\"seq\":3,"
+                + "\"item\":{\"id\":\"F1\",\"title\":\"Wallet\",\"keywords\":[\"black\"],\"imagePath\":\"/uploads/x.jpg\"}},"
+                + "{\"source\":\"LOST\",\"type\":\"DELETE\",\"itemId\":\"L9\",\"seq\":4,\"item\":null}"
+                + "]";
+        when(events.submit(anyList())).thenReturn(true);
+
+        mvc.perform(post("/matches/events").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted());
+
+        ArgumentCaptor<List<ItemEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(events).submit(captor.capture());
+        List<ItemEvent> batch = captor.getValue();
+
+        assertThat(batch.get(0).source()).isEqualTo(ItemEvent.FOUND);
+        assertThat(batch.get(0).item()).isEqualTo(
+                new FoundItem("F1", "Wallet", null, null, List.of("black"), null, null, null));
+        assertThat(batch.get(1).source()).isEqualTo(ItemEvent.LOST);
+        assertThat(batch.get(1).isDelete()).isTrue();
+    }
+
+    @Test
+    void events_acceptedWhenQueued_unavailableWhenFull() throws Exception {
+        String body = "[{\"source\":\"LOST\",\"type\":\"UPSERT\",\"itemId\":\"L1\",\"seq\":7,"
+                + "\"item\":{\"id\":\"L1\",\"description\":\"black wallet\"}}]";
+
+        when(events.submit(anyList())).thenReturn(true, false);
+
+        mvc.perform(post("/matches/events").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted());
+        mvc.perform(post("/matches/events").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void run_returnsAcceptedWithTheRunId_andStatusIsPollable() throws Exception {
+        MatchingRun run = mock(MatchingRun.class);
+        when(run.status()).thenReturn(new MatchingRun.Status("r1", MatchingRun.Trigger.MANUAL,
+                MatchingRun.State.RUNNING, "score", 1200, 7, Map.of("fetch-found", 40L, "score", 15L),
+                Instant.now(), Instant.now(), null, null));
+        when(runs.submit(MatchingRun.Trigger.MANUAL)).thenReturn(run);
+        when(runs.find("r1")).thenReturn(run);
+
+        mvc.perform(post("/matches/run"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("r1"))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+
+        mvc.perform(get("/matches/runs/r1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pairsScored").value(1200))
+                .andExpect(jsonPath("$.matchesCreated").value(7))
+                .andExpect(jsonPath("$.phaseMillis.score").value(15));
+
+        mvc.perform(get("/matches/runs/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void byUser_fullPageCarriesTheNextCursor_andSummaryViewHasNoReason() throws Exception {
+        Instant t = Instant.parse("2026-03-01T10:00:00Z");
+        MatchCursor after = new MatchCursor(3.0, t, "m2");
+        when(repo.findSummaryPageByUsername("user1", 3.0, t, "m2", Limit.of(2))).thenReturn(List.of(
+                new MatchSummary("m3", "L1", "F3", "user1", 3.0, t.minusSeconds(5)),
+                new MatchSummary("m4", "L2", "F1", "user1", 2.0, t)));
+
+        String next = mvc.perform(get("/matches/by-user/user1")
+                        .param("after", after.encode()).param("limit", "2").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("m3"))
+                .andExpect(jsonPath("$[0].reason").doesNotExist())
+                .andReturn().getResponse().getHeader(MatchController.NEXT_CURSOR_HEADER);
+
+        assertThat(MatchCursor.decode(next)).isEqualTo(new MatchCursor(2.0, t, "m4"));
+    }
+
+    @Test
+    void list_rejectsBadCursorsAndLimits() throws Exception {
+        mvc.perform(get("/matches").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/matches").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/matches").param("view", "everything"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void preview_returnsRankedFoundIds_andChecksTheLimit() throws Exception {
+        when(job.preview("black wallet", "canteen", MatchController.DEFAULT_PREVIEW_LIMIT))
+                .thenReturn(List.of(new MatchPreview("F2", 3.0), new MatchPreview("F1", 2.0)));
+
+        mvc.perform(post("/matches/preview")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"black wallet\",\"location\":\"canteen\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].foundItemId").value("F2"))
+                .andExpect(jsonPath("$[0].score").value(3.0))
+                .andExpect(jsonPath("$[1].foundItemId").value("F1"));
+
+        mvc.perform(post("/matches/preview")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"black wallet\",\"limit\":500}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void stream_pushesNewMatchesToThatUserOnly() throws Exception {
+        MvcResult user1 = mvc.perform(get("/matches/stream/user1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult user2 = mvc.perform(get("/matches/stream/user2")).andReturn();
+
+        MatchResult m = new MatchResult();
+        m.setLostItemId("L1");
+        m.setFoundItemId("F1");
+        m.setLostUsername("user1");
+        m.setScore(2.0);
+        MatchResult saved = new MatchResult();
+        saved.setLostItemId("L2");
+        saved.setFoundItemId("F2");
+        saved.setLostUsername("user1");
+        saved.setScore(3.0);
+        saved.prePersist(); // as if stored: gets an id
+        streams.onMatchesChanged(new MatchesChanged(Set.of("user1"), List.of(m, saved)));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        // the event is written in pieces (name, data, blank line) by the sending thread
+        while (!lastEventComplete(user1.getResponse().getContentAsString(), "\"foundItemId\":\"F2\"")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(user1.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(user1.getResponse().getContentAsString())
+                .contains("event:match")
+                .contains("\"foundItemId\":\"F1\"")
+                .contains("id:" + saved.getId() + "\n")
+                .doesNotContain("id:null");
+        assertThat(user2.getResponse().getContentAsString()).doesNotContain("event:match");
+    }
+
+    private static boolean lastEventComplete(String stream, String payload) {
+        return stream.contains(payload) && stream.endsWith("\n\n");
+    }
 }
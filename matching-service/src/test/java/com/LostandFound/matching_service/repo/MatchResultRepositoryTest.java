@@ -0,0 +1,82 @@
+package com.LostandFound.matching_service.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.LostandFound.matching_service.model.MatchCursor;
+import com.LostandFound.matching_service.model.MatchRank;
+import com.LostandFound.matching_service.model.MatchResult;
+import com.LostandFound.matching_service.model.MatchSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+@DataJpaTest
+class MatchResultRepositoryTest {
+
+    @Autowired MatchResultRepository repo;
+
+    @Test
+    void findRanksByLostItemIdIn_returnsStoredPairsForBatch() {
+        repo.saveAll(List.of(
+                match("L1", "F1"),
+                match("L1", "F2"),
+                match("L2", "F1"),
+                match("L3", "F3")
+        ));
+
+        List<MatchRank> ranks = repo.findRanksByLostItemIdIn(List.of("L1", "L2"));
+
+        assertThat(ranks).extracting(r -> r.lostItemId() + "/" + r.foundItemId() + "/" + r.score())
+                .containsExactlyInAnyOrder("L1/F1/2.0", "L1/F2/2.0", "L2/F1/2.0");
+        assertThat(ranks).allSatisfy(r -> assertThat(repo.existsById(r.id())).isTrue());
+    }
+
+    @Test
+    void keysetPages_walkScoreThenCreatedAtThenId_withoutGapsOrRepeats() {
+        Instant t = Instant.parse("2026-03-01T10:00:00Z");
+        repo.saveAll(List.of(
+                match("L1", "F1", "user1", 3.0, t),
+                match("L1", "F2", "user1", 2.0, t),
+                match("L2", "F1", "user1", 2.0, t),            // same score and time: id decides
+                match("L2", "F2", "user1", 2.0, t.minusSeconds(60)),
+                match("L3", "F3", "user2", 5.0, t)
+        ));
+
+        List<String> seen = new ArrayList<>();
+        MatchCursor cursor = MatchCursor.FIRST;
+        List<MatchSummary> page;
+        do {
+            page = repo.findSummaryPageByUsername("user1", cursor.score(), cursor.createdAt(), cursor.id(), Limit.of(2));
+            page.forEach(m -> seen.add(m.lostItemId() + "/" + m.foundItemId()));
+            if (!page.isEmpty()) cursor = MatchCursor.after(page.get(page.size() - 1));
+        } while (page.size() == 2);
+
+        assertThat(seen).hasSize(4).doesNotHaveDuplicates();
+        assertThat(seen.get(0)).isEqualTo("L1/F1");
+        assertThat(seen.get(3)).isEqualTo("L2/F2");
+        assertThat(repo.findPage(Double.MAX_VALUE, Instant.EPOCH, "", Limit.of(1)))
+                .extracting(MatchResult::getLostItemId).containsExactly("L3");
+    }
+
+    private static MatchResult match(String lostId, String foundId, String username, double score, Instant createdAt) {
+        MatchResult m = match(lostId, foundId);
+        m.setLostUsername(username);
+        m.setScore(score);
+        m.setCreatedAt(createdAt);
+        return m;
+    }
+
+    private static MatchResult match(String lostId, String foundId) {
+        MatchResult m = new MatchResult();
+        m.setLostItemId(lostId);
+        m.setFoundItemId(foundId);
+        m.setLostUsername("user1");
+        m.setScore(2.0);
+        return m;
+    }
+}
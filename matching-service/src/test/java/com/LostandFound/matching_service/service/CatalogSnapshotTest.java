@@ -0,0 +1,88 @@
+package com.LostandFound.matching_service.service;
+
+import static com.LostandFound.matching_service.service.MatchingJob.FOUND_STATUSES;
+import static com.LostandFound.matching_service.service.MatchingJob.LOST_STATUSES;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.LostandFound.matching_service.client.ChangeFeed;
+import com.LostandFound.matching_service.client.FoundClient;
+import com.LostandFound.matching_service.client.FoundItem;
+import com.LostandFound.matching_service.client.ItemPage;
+import com.LostandFound.matching_service.client.LostClient;
+import com.LostandFound.matching_service.client.LostItem;
+import com.LostandFound.matching_service.config.PhotoProperties;
+import com.LostandFound.matching_service.model.ItemEvent;
+import com.LostandFound.matching_service.model.MatchResult;
+import com.LostandFound.matching_service.repo.MatchResultRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogSnapshotTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void restoredJob_isIncrementalAndScoresAgainstRestoredIndex() throws Exception {
+        Path file = dir.resolve("catalog.snap");
+
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        when(foundClient.getFoundChangesHead()).thenReturn(10L);
+        when(lostClient.getLostChangesHead()).thenReturn(20L);
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(new ItemPage<>(List.of(
+            new FoundItem("F1", "Wallet", "black leather", "canteen", List.of("wallet"), "AVAILABLE", null, null)
+        ), null));
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(new ItemPage<>(List.of(
+            new LostItem("L1", "user1", "blue umbrella", "library", "OPEN", null, null)
+        ), null));
+
+        MatchingJob original = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+        original.runOnce();
+        assertThat(original.writeSnapshot(file)).isTrue();
+        assertThat(original.writeSnapshot(file)).isFalse(); // unchanged since
+
+        MatchingJob restarted = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+        assertThat(restarted.restoreSnapshot(CatalogSnapshot.read(file))).isTrue();
+        assertThat(restarted.foundCount()).isEqualTo(1);
+        assertThat(restarted.lostCount()).isEqualTo(1);
+        assertThat(restarted.isWarm()).isFalse();
+
+        // the restored index matches new items without a rescan
+        List<MatchResult> created = restarted.applyEvents(List.of(new ItemEvent(ItemEvent.LOST, ItemEvent.UPSERT,
+            "L2", 21L, new LostItem("L2", "user2", "black wallet", "canteen", "OPEN", null, null))), leases());
+        assertThat(created).extracting(m -> m.getLostItemId() + "/" + m.getFoundItemId())
+                .containsExactly("L2/F1");
+
+        // and the first scheduled run only replays the feeds after the snapshot's cursors
+        when(foundClient.getFoundChanges(10L, 500, FOUND_STATUSES)).thenReturn(new ChangeFeed<>(List.of(), List.of(), 10L, false));
+        when(lostClient.getLostChanges(20L, 500, LOST_STATUSES)).thenReturn(new ChangeFeed<>(List.of(), List.of(), 20L, false));
+        restarted.runMatching(Shard.ALL, MatchingRun.untracked());
+
+        assertThat(restarted.isWarm()).isTrue();
+        verify(foundClient, times(1)).getFoundPage(null, 500, FOUND_STATUSES); // only the original's full load
+    }
+
+    @Test
+    void read_rejectsTruncatedFile() throws Exception {
+        Path file = dir.resolve("broken.snap");
+        Files.write(file, new byte[] {0x4C, 0x46});
+
+        assertThatThrownBy(() -> CatalogSnapshot.read(file)).isInstanceOf(IOException.class);
+    }
+
+    // a single instance: every slice lease is free
+    private static ClusterCoordinator leases() {
+        ClusterCoordinator cluster = mock(ClusterCoordinator.class);
+        when(cluster.tryLeaseAll(anyList())).thenReturn(true);
+        return cluster;
+    }
+}
@@ -0,0 +1,132 @@
+package com.LostandFound.matching_service.service;
+
+import static com.LostandFound.matching_service.service.MatchingJob.FOUND_STATUSES;
+import static com.LostandFound.matching_service.service.MatchingJob.LOST_STATUSES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import com.LostandFound.matching_service.client.FoundClient;
+import com.LostandFound.matching_service.client.FoundItem;
+import com.LostandFound.matching_service.client.ItemPage;
+import com.LostandFound.matching_service.client.LostClient;
+import com.LostandFound.matching_service.client.LostItem;
+import com.LostandFound.matching_service.config.PhotoProperties;
+import com.LostandFound.matching_service.model.ItemEvent;
+import com.LostandFound.matching_service.repo.MatchResultRepository;
+import com.LostandFound.matching_service.repo.MatchingLeaseRepository;
+import com.LostandFound.matching_service.repo.MatchingMemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+class ClusterCoordinatorTest {
+
+    @Autowired MatchingMemberRepository members;
+    @Autowired MatchingLeaseRepository leases;
+
+    @Test
+    void liveMembersSplitTheShards_andRebalanceWhenOneLeaves() {
+        ClusterCoordinator a = coordinator("a", 600_000);
+        ClusterCoordinator b = coordinator("b", 600_000);
+
+        a.heartbeat();
+        assertThat(a.currentShard()).isEqualTo(Shard.ALL);
+
+        b.heartbeat();
+        assertThat(a.currentShard()).isEqualTo(new Shard(0, 2));
+        assertThat(b.currentShard()).isEqualTo(new Shard(1, 2));
+
+        b.leave();
+        assertThat(a.currentShard()).isEqualTo(Shard.ALL);
+    }
+
+    @Test
+    void leaseIsExclusive_untilReleasedOrExpired() {
+        ClusterCoordinator a = coordinator("a", 600_000);
+        ClusterCoordinator b = coordinator("b", 600_000);
+
+        assertThat(a.tryLease("shard-x")).isTrue();
+        assertThat(a.tryLease("shard-x")).isTrue(); // holder may extend, and now holds it twice
+        assertThat(b.tryLease("shard-x")).isFalse();
+
+        a.release("shard-x");
+        assertThat(b.tryLease("shard-x")).isFalse();
+        a.release("shard-x");
+        assertThat(b.tryLease("shard-x")).isTrue();
+
+        // a lease that already ran out can be taken over (crashed holder)
+        ClusterCoordinator crashed = coordinator("c", 0);
+        assertThat(crashed.tryLease("shard-y")).isTrue();
+        assertThat(a.tryLease("shard-y")).isTrue();
+    }
+
+    @Test
+    void shardsFromDifferentMemberCounts_contendForTheirSharedSlices() {
+        ClusterCoordinator a = coordinator("a", 600_000);
+        ClusterCoordinator b = coordinator("b", 600_000);
+
+        // a still counts two instances (even slices), b already counts three (slices 1, 4, 7, ...)
+        assertThat(a.tryLeaseAll(new Shard(0, 2).leaseNames())).isTrue();
+        assertThat(b.tryLeaseAll(new Shard(1, 3).leaseNames())).isFalse();
+
+        // b got slice 1 before hitting slice 4 and gave it back
+        assertThat(coordinator("c", 600_000).tryLease("matching-slice-1")).isTrue();
+        coordinator("c", 600_000).release("matching-slice-1");
+
+        a.releaseAll(new Shard(0, 2).leaseNames());
+        assertThat(b.tryLeaseAll(new Shard(1, 3).leaseNames())).isTrue();
+    }
+
+    @Test
+    void pushedEvents_areOnlyScoredByTheInstanceHoldingTheSlice() {
+        ClusterCoordinator a = coordinator("a", 600_000);
+        ClusterCoordinator b = coordinator("b", 600_000);
+        MatchResultRepository aMatches = mock(MatchResultRepository.class);
+        MatchResultRepository bMatches = mock(MatchResultRepository.class);
+        when(bMatches.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        // mid-rebalance: a still scores everything, b already scores the odd slices and is running
+        MatchingJob jobA = loadedJob(aMatches, Shard.ALL);
+        MatchingJob jobB = loadedJob(bMatches, new Shard(1, 2));
+        List<String> running = new Shard(1, 2).leaseNames();
+        assertThat(b.tryLeaseAll(running)).isTrue();
+
+        // "L1" hashes into slice 5, so both instances get the event for it
+        assertThat(Shard.slice("L1")).isEqualTo(5);
+        List<ItemEvent> events = List.of(new ItemEvent(ItemEvent.LOST, ItemEvent.UPSERT, "L1", 21L,
+                new LostItem("L1", "user1", "black wallet", "canteen", "OPEN", null, null)));
+
+        assertThat(jobA.applyEvents(events, a)).isEmpty();
+        verify(aMatches, never()).saveAll(anyList());
+
+        assertThat(jobB.applyEvents(events, b))
+                .extracting(m -> m.getLostItemId() + "/" + m.getFoundItemId())
+                .containsExactly("L1/F1");
+
+        // the event batch gave its hold back, but b's run still has the slice
+        assertThat(a.tryLease(Shard.leaseName(5))).isFalse();
+        b.releaseAll(running);
+        assertThat(a.tryLease(Shard.leaseName(5))).isTrue();
+    }
+
+    private static MatchingJob loadedJob(MatchResultRepository matches, Shard shard) {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(new ItemPage<>(List.of(
+                new FoundItem("F1", "Wallet", null, null, List.of("black", "wallet"), "AVAILABLE", null, null)
+        ), null));
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(new ItemPage<>(List.of(), null));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, matches, 1, 0, CandidateBlocking.disabled(),
+                PhotoProperties.DISABLED, event -> {});
+        job.rescan(shard, MatchingRun.untracked());
+        return job;
+    }
+
+    private ClusterCoordinator coordinator(String id, long leaseMs) {
+        return new ClusterCoordinator(members, leases, id, 60_000, leaseMs);
+    }
+}
@@ -0,0 +1,52 @@
+package com.LostandFound.matching_service.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class FeatureCacheTest {
+
+    @Test
+    void get_reTokenizesOnlyWhenFingerprintChanges() {
+        FeatureCache cache = new FeatureCache();
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.beginPass();
+        cache.get("F1", FeatureCache.fingerprint("black wallet", List.of("leather")),
+                () -> { calls.incrementAndGet(); return new int[] {1, 2, 3}; });
+        cache.get("F1", FeatureCache.fingerprint("black wallet", List.of("leather")),
+                () -> { calls.incrementAndGet(); return new int[0]; });
+        assertThat(calls).hasValue(1);
+
+        int[] features = cache.get("F1", FeatureCache.fingerprint("blue wallet", List.of("leather")),
+                () -> { calls.incrementAndGet(); return new int[] {2, 3, 4}; });
+        assertThat(calls).hasValue(2);
+        assertThat(features).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    void sweep_dropsItemsNotSeenDuringPass() {
+        FeatureCache cache = new FeatureCache();
+
+        cache.beginPass();
+        cache.get("F1", 1L, () -> new int[] {1});
+        cache.get("F2", 2L, () -> new int[] {2});
+        cache.sweep();
+
+        cache.beginPass();
+        cache.get("F1", 1L, () -> new int[] {1});
+        cache.sweep();
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void fingerprint_separatesFieldBoundaries() {
+        assertThat(FeatureCache.fingerprint("ab", "c")).isNotEqualTo(FeatureCache.fingerprint("a", "bc"));
+        assertThat(FeatureCache.fingerprint("a", List.of("b", "c")))
+                .isNotEqualTo(FeatureCache.fingerprint("a", List.of("bc")));
+    }
+}
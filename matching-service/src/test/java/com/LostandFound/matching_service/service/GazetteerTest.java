@@ -0,0 +1,40 @@
+package com.LostandFound.matching_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class GazetteerTest {
+
+    private final Gazetteer gazetteer = new Gazetteer(Map.of(
+            "canteen", List.of("cafeteria", "food court", "mess"),
+            "library", List.of("reading room"),
+            "library-annex", List.of("library annex")));
+
+    @Test
+    void venueOf_mapsAliasesToTheSameVenue() {
+        int canteen = gazetteer.id("canteen");
+
+        assertThat(gazetteer.venueOf("Canteen")).isEqualTo(canteen);
+        assertThat(gazetteer.venueOf("near the FOOD-COURT entrance")).isEqualTo(canteen);
+        assertThat(gazetteer.name(gazetteer.venueOf("2nd floor cafeteria"))).isEqualTo("canteen");
+    }
+
+    @Test
+    void venueOf_matchesWholeWords_andPrefersTheLongestPhrase() {
+        assertThat(gazetteer.venueOf("message board")).isEqualTo(Gazetteer.UNKNOWN);
+        assertThat(gazetteer.name(gazetteer.venueOf("library annex, desk 3"))).isEqualTo("library-annex");
+        assertThat(gazetteer.name(gazetteer.venueOf("library"))).isEqualTo("library");
+    }
+
+    @Test
+    void unknownLocationsAndNames_haveNoVenue() {
+        assertThat(gazetteer.venueOf(null)).isEqualTo(Gazetteer.UNKNOWN);
+        assertThat(gazetteer.venueOf("parking lot")).isEqualTo(Gazetteer.UNKNOWN);
+        assertThat(gazetteer.id("stadium")).isEqualTo(Gazetteer.UNKNOWN);
+        assertThat(gazetteer.name(Gazetteer.UNKNOWN)).isNull();
+    }
+}
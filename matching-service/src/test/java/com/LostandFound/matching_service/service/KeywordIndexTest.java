@@ -0,0 +1,70 @@
+package com.LostandFound.matching_service.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class KeywordIndexTest {
+
+    @Test
+    void put_replacesAndRemoveDropsItems() {
+        KeywordIndex index = new KeywordIndex();
+        KeywordIndex.Scratch scratch = new KeywordIndex.Scratch();
+
+        assertThat(index.put("F1", new int[] {1, 2})).isTrue();
+        assertThat(index.put("F2", new int[] {2, 3})).isTrue();
+        assertThat(index.put("F1", new int[] {1, 2})).isFalse();
+
+        assertThat(ids(index, index.candidates(new int[] {2}, scratch))).containsExactly("F1", "F2");
+
+        assertThat(index.put("F1", new int[] {4})).isTrue();
+        assertThat(ids(index, index.candidates(new int[] {2}, scratch))).containsExactly("F2");
+        assertThat(ids(index, index.candidates(new int[] {4}, scratch))).containsExactly("F1");
+
+        assertThat(index.remove("F2")).isTrue();
+        assertThat(index.candidates(new int[] {2, 3}, scratch)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void compaction_keepsLiveItemsInInsertionOrder() {
+        KeywordIndex index = new KeywordIndex();
+        for (int i = 0; i < 3_000; i++) {
+            index.put("F" + i, new int[] {7});
+        }
+        for (int i = 0; i < 3_000; i += 3) {
+            index.remove("F" + i);
+            index.remove("F" + (i + 1));
+        }
+
+        String[] ids = ids(index, index.candidates(new int[] {7}, new KeywordIndex.Scratch()));
+
+        assertThat(ids).hasSize(1_000);
+        assertThat(ids[0]).isEqualTo("F2");
+        assertThat(ids[999]).isEqualTo("F2999");
+    }
+
+    @Test
+    void overlaps_countsSharedTokens_likeTokenVectors() {
+        KeywordIndex index = new KeywordIndex();
+        index.put("F1", new int[] {1, 2, 3});
+        index.put("F2", new int[] {2, 5});
+        index.put("F3", new int[] {1, 2, 3});
+        index.remove("F3");
+
+        Map<String, Integer> shared = new HashMap<>();
+        index.overlaps(new int[] {1, 2, 3, 5}, 2, new KeywordIndex.Scratch(),
+                (slot, n) -> shared.put(index.id(slot), n));
+
+        assertThat(shared).containsOnly(entry("F1", 3), entry("F2", 2));
+        assertThat(shared.get("F1")).isEqualTo(TokenVectors.overlap(new int[] {1, 2, 3, 5}, index.features("F1")));
+    }
+
+    private static String[] ids(KeywordIndex index, int[] slots) {
+        return Arrays.stream(slots).mapToObj(index::id).toArray(String[]::new);
+    }
+}
@@ -1,15 +1,31 @@
 package com.LostandFound.matching_service.service;
 
+import static com.LostandFound.matching_service.service.MatchingJob.FOUND_STATUSES;
+import static com.LostandFound.matching_service.service.MatchingJob.LOST_STATUSES;
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
+import com.LostandFound.matching_service.client.ChangeFeed;
 import com.LostandFound.matching_service.client.FoundClient;
+import com.LostandFound.matching_service.client.FoundItem;
+import com.LostandFound.matching_service.client.ItemPage;
 import com.LostandFound.matching_service.client.LostClient;
+import com.LostandFound.matching_service.client.LostItem;
+import com.LostandFound.matching_service.config.BlockingProperties;
+import com.LostandFound.matching_service.config.PhotoProperties;
+import com.LostandFound.matching_service.model.ItemEvent;
+import com.LostandFound.matching_service.model.MatchPreview;
+import com.LostandFound.matching_service.model.MatchRank;
 import com.LostandFound.matching_service.model.MatchResult;
 import com.LostandFound.matching_service.repo.MatchResultRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
@@ -21,22 +37,22 @@ class MatchingJobTest {
         LostClient lostClient = mock(LostClient.class);
         MatchResultRepository repo = mock(MatchResultRepository.class);
 
-        MatchingJob job = new MatchingJob(foundClient, lostClient, repo);
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
 
         // lost: "black wallet canteen"
-        when(lostClient.getLostItems()).thenReturn(List.of(
-            Map.of("id", "L1", "username", "user1", "description", "black wallet", "location", "canteen")
-        ));
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            lost("L1", "user1", "black wallet", "canteen")
+        )));
 
         // found keywords include black + wallet => score >= 2
-        when(foundClient.getFoundItems()).thenReturn(List.of(
-            Map.of("id", "F1", "keywords", List.of("black", "wallet"))
-        ));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F1", List.of("black", "wallet"))
+        )));
 
-        when(repo.existsByLostItemIdAndFoundItemId("L1", "F1")).thenReturn(false);
+        when(repo.findRanksByLostItemIdIn(List.of("L1"))).thenReturn(List.of());
 
-        // when saving, return the same object
-        when(repo.save(any(MatchResult.class))).thenAnswer(inv -> inv.getArgument(0));
+        // when saving, return the same objects
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
         List<MatchResult> created = job.runOnce();
 
@@ -46,8 +62,9 @@ class MatchingJobTest {
         assertThat(created.get(0).getLostUsername()).isEqualTo("user1");
         assertThat(created.get(0).getScore()).isGreaterThanOrEqualTo(2.0);
 
-        // optional: verify save called once
-        verify(repo, times(1)).save(any(MatchResult.class));
+        // one duplicate lookup and one batched insert for the whole chunk
+        verify(repo, times(1)).findRanksByLostItemIdIn(anyCollection());
+        verify(repo, times(1)).saveAll(anyList());
     }
 
     @Test
@@ -56,20 +73,482 @@ class MatchingJobTest {
         LostClient lostClient = mock(LostClient.class);
         MatchResultRepository repo = mock(MatchResultRepository.class);
 
-        MatchingJob job = new MatchingJob(foundClient, lostClient, repo);
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
 
-        when(lostClient.getLostItems()).thenReturn(List.of(
-            Map.of("id", "L1", "username", "user1", "description", "black wallet", "location", "canteen")
-        ));
-        when(foundClient.getFoundItems()).thenReturn(List.of(
-            Map.of("id", "F1", "keywords", List.of("black", "wallet"))
-        ));
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            lost("L1", "user1", "black wallet", "canteen")
+        )));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F1", List.of("black", "wallet"))
+        )));
 
-        when(repo.existsByLostItemIdAndFoundItemId("L1", "F1")).thenReturn(true);
+        when(repo.findRanksByLostItemIdIn(List.of("L1"))).thenReturn(List.of(new MatchRank("M1", "L1", "F1", 2.0)));
 
         List<MatchResult> created = job.runOnce();
 
         assertThat(created).isEmpty();
         verify(repo, never()).save(any());
+        verify(repo, never()).saveAll(anyList());
+    }
+
+    @Test
+    void runOnce_ignoresFoundItems_withNoSharedToken() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            lost("L1", "user1", "black wallet", "canteen")
+        )));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F1", List.of("red", "umbrella")),
+            found("F2", "Wallet", "black leather", "library")
+        )));
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<MatchResult> created = job.runOnce();
+
+        assertThat(created).extracting(MatchResult::getFoundItemId).containsExactly("F2");
+        assertThat(created.get(0).getReason()).isEqualTo("Common keywords: black, wallet");
+    }
+
+    @Test
+    void runOnce_missingFields_doNotBecomeANullToken() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+
+        // only "wallet" is shared; absent location/title must not add a common "null"
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            lost("L1", null, "wallet", null)
+        )));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F1", null, "wallet", null)
+        )));
+
+        assertThat(job.runOnce()).isEmpty();
+        verify(repo, never()).saveAll(anyList());
+    }
+
+    @Test
+    void runOnce_parallel_matchesSequentialOutputAndOrder() {
+        List<LostItem> lost = new ArrayList<>();
+        for (int i = 0; i < 1_300; i++) {
+            String color = List.of("black", "blue", "pink").get(i % 3);
+            lost.add(lost("L" + i, "user" + (i % 7), color + " wallet " + (i % 2 == 0 ? "leather" : "canvas"), null));
+        }
+        List<FoundItem> found = List.of(
+            found("F1", List.of("black", "wallet")),
+            found("F2", "Blue wallet", "canvas", null),
+            found("F3", null, "pink leather wallet", null)
+        );
+
+        List<String> sequential = run(lost, found, 1);
+        List<String> parallel = run(lost, found, 4);
+
+        assertThat(sequential).isNotEmpty();
+        assertThat(parallel).containsExactlyElementsOf(sequential);
+    }
+
+    @Test
+    void runOnce_followsPageCursors() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(new ItemPage<>(List.of(
+            found("F1", List.of("black", "wallet"))
+        ), "F1"));
+        when(foundClient.getFoundPage("F1", 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F2", List.of("blue", "umbrella"))
+        )));
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(new ItemPage<>(List.of(
+            lost("L1", "user1", "blue umbrella", "library")
+        ), "L1"));
+        when(lostClient.getLostPage("L1", 500, LOST_STATUSES)).thenReturn(page(List.of(
+            lost("L2", "user2", "black wallet", "canteen")
+        )));
+
+        List<MatchResult> created = job.runOnce();
+
+        assertThat(created).extracting(m -> m.getLostItemId() + "/" + m.getFoundItemId())
+                .containsExactly("L1/F2", "L2/F1");
+    }
+
+    @Test
+    void runMatching_shardsSplitLostItemsWithoutOverlap() {
+        List<LostItem> lost = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            lost.add(lost("L" + i, "user" + i, "black wallet", "canteen"));
+        }
+        List<FoundItem> found = List.of(found("F1", List.of("black", "wallet")));
+
+        List<String> all = runShard(lost, found, Shard.ALL);
+        List<String> first = runShard(lost, found, new Shard(0, 2));
+        List<String> second = runShard(lost, found, new Shard(1, 2));
+
+        assertThat(all).hasSize(40);
+        assertThat(first).isNotEmpty().doesNotContainAnyElementsOf(second);
+        assertThat(Stream.concat(first.stream(), second.stream()).toList())
+                .containsExactlyInAnyOrderElementsOf(all);
+    }
+
+    @Test
+    void runIncremental_scoresOnlyChangedItems() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+
+        when(foundClient.getFoundChangesHead()).thenReturn(10L);
+        when(lostClient.getLostChangesHead()).thenReturn(20L);
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            lost("L1", "user1", "black wallet", "canteen"),
+            lost("L2", "user2", "blue umbrella", "library")
+        )));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F1", List.of("red", "pen"))
+        )));
+        assertThat(job.runOnce()).isEmpty();
+
+        // a new found item and an edited lost item arrive through the feeds
+        when(foundClient.getFoundChanges(10L, 500, FOUND_STATUSES)).thenReturn(new ChangeFeed<>(
+            List.of(found("F2", "Black wallet", null, null)), List.of(), 11L, false));
+        when(lostClient.getLostChanges(20L, 500, LOST_STATUSES)).thenReturn(new ChangeFeed<>(
+            List.of(lost("L2", "user2", "red pen", "library")),
+            List.of(), 21L, false));
+
+        List<MatchResult> created = job.runIncremental();
+
+        assertThat(created).extracting(m -> m.getLostItemId() + "/" + m.getFoundItemId())
+                .containsExactly("L2/F1", "L1/F2");
+        verify(foundClient, times(1)).getFoundPage(null, 500, FOUND_STATUSES);
+        verify(lostClient, times(1)).getLostPage(null, 500, LOST_STATUSES);
+
+        // a quiet minute: empty feeds, nothing scored, cursors kept
+        when(foundClient.getFoundChanges(11L, 500, FOUND_STATUSES)).thenReturn(new ChangeFeed<>(List.of(), List.of(), 11L, false));
+        when(lostClient.getLostChanges(21L, 500, LOST_STATUSES)).thenReturn(new ChangeFeed<>(List.of(), List.of(), 21L, false));
+
+        assertThat(job.runIncremental()).isEmpty();
+        verify(repo, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void applyEvents_scoresPushedItems_andFeedReplayIsANoOp() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+
+        LostItem l2 = lost("L2", "user2", "black wallet", "canteen");
+        ItemEvent newLost = new ItemEvent(ItemEvent.LOST, ItemEvent.UPSERT, "L2", 21L, l2);
+
+        // catalog not loaded yet: nothing to score against, the loading rescan covers it
+        assertThat(job.applyEvents(List.of(newLost), leases())).isEmpty();
+
+        when(foundClient.getFoundChangesHead()).thenReturn(10L);
+        when(lostClient.getLostChangesHead()).thenReturn(20L);
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of()));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F1", List.of("black", "wallet"))
+        )));
+        job.runOnce();
+
+        List<MatchResult> created = job.applyEvents(List.of(newLost), leases());
+        assertThat(created).extracting(m -> m.getLostItemId() + "/" + m.getFoundItemId())
+                .containsExactly("L2/F1");
+
+        // the same change then shows up in the feed: already indexed, nothing rescored
+        when(foundClient.getFoundChanges(10L, 500, FOUND_STATUSES)).thenReturn(new ChangeFeed<>(List.of(), List.of(), 10L, false));
+        when(lostClient.getLostChanges(20L, 500, LOST_STATUSES)).thenReturn(new ChangeFeed<>(
+            List.of(l2), List.of(), 21L, false));
+
+        assertThat(job.runIncremental()).isEmpty();
+
+        // a deleted found item stops matching new lost items
+        job.applyEvents(List.of(new ItemEvent(ItemEvent.FOUND, ItemEvent.DELETE, "F1", 11L, null)), leases());
+        assertThat(job.applyEvents(List.of(new ItemEvent(ItemEvent.LOST, ItemEvent.UPSERT, "L3", 22L,
+            lost("L3", "user3", "black wallet", "gym"))), leases())).isEmpty();
+    }
+
+    @Test
+    void resolvedItems_leaveTheWorkingSet() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of()));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F1", List.of("black", "wallet")),
+            found("F2", List.of("blue", "umbrella"))
+        )));
+        job.runOnce();
+        assertThat(job.foundCount()).isEqualTo(2);
+
+        // F1 gets claimed: evicted, so a matching lost item no longer pairs with it
+        FoundItem claimed = new FoundItem("F1", null, null, null, List.of("black", "wallet"), "CLAIMED", null, null);
+        job.applyEvents(List.of(new ItemEvent(ItemEvent.FOUND, ItemEvent.UPSERT, "F1", 11L, claimed)), leases());
+        assertThat(job.foundCount()).isEqualTo(1);
+
+        LostItem matched = new LostItem("L1", "user1", "black wallet", "canteen", "MATCHED", null, null);
+        assertThat(job.applyEvents(List.of(new ItemEvent(ItemEvent.LOST, ItemEvent.UPSERT, "L1", 21L, matched)), leases()))
+                .isEmpty();
+        assertThat(job.lostCount()).isZero();
+    }
+
+    @Test
+    void blocking_skipsOtherVenuesAndStaleItems_butKeepsUnknowns() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CandidateBlocking blocking = new CandidateBlocking(new BlockingProperties(true,
+                Map.of("canteen", List.of("cafeteria", "food court"), "library", List.of("reading room")),
+                Duration.ofDays(7), Duration.ofDays(90), true), registry);
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, blocking, PhotoProperties.DISABLED, event -> {});
+
+        Instant reported = Instant.parse("2026-03-01T10:00:00Z");
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            new LostItem("L1", "user1", "black wallet", "Food Court, block B", "OPEN", reported, null)
+        )));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            foundAt("F1", "cafeteria", reported.plus(Duration.ofDays(2))),   // same venue, in window
+            foundAt("F2", "reading room", reported.plus(Duration.ofDays(1))), // other venue
+            foundAt("F3", "canteen", reported.plus(Duration.ofDays(120))),   // too late
+            foundAt("F4", "main gate", null)                                  // unknown venue and date
+        )));
+
+        List<MatchResult> created = job.runOnce();
+
+        assertThat(created).extracting(MatchResult::getFoundItemId).containsExactly("F1", "F4");
+        assertThat(registry.get("matching.blocking.pairs").tag("outcome", "kept").counter().count()).isEqualTo(2);
+        assertThat(registry.get("matching.blocking.pairs").tag("outcome", "blocked").counter().count()).isEqualTo(2);
+        assertThat(registry.get("matching.blocking.reduction").gauge().value()).isEqualTo(0.5);
+        // both blocked pairs share "black wallet", so blocking cost half the matches here
+        assertThat(registry.get("matching.blocking.recall").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void blocking_withoutMeasureRecall_registersNoRecallGauge() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CandidateBlocking(new BlockingProperties(true, Map.of(), Duration.ofDays(7), Duration.ofDays(90), false),
+                registry);
+
+        // never measured, so there is no value to report (rather than a constant 100%)
+        assertThat(registry.find("matching.blocking.recall").gauge()).isNull();
+        assertThat(registry.get("matching.blocking.reduction").gauge()).isNotNull();
+    }
+
+    @Test
+    void topK_replacesTheWeakestStoredMatch() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Object> changed = new ArrayList<>();
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 2, CandidateBlocking.disabled(), PhotoProperties.DISABLED, changed::add);
+
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            lost("L1", "user1", "black leather wallet", "canteen")
+        )));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F1", List.of("black", "wallet")),
+            found("F2", List.of("black", "leather", "wallet", "canteen")),
+            found("F3", List.of("black", "leather", "wallet"))
+        )));
+        // F1 (2 words) was saved earlier, next to an older 3-word match
+        when(repo.findRanksByLostItemIdIn(List.of("L1"))).thenReturn(List.of(
+            new MatchRank("M1", "L1", "F1", 2.0),
+            new MatchRank("M9", "L1", "F9", 3.0)
+        ));
+
+        List<MatchResult> created = job.runOnce();
+
+        // F2 pushes out F1; F3 only ties M9, which keeps its place
+        assertThat(created).extracting(MatchResult::getFoundItemId).containsExactly("F2");
+        verify(repo).deleteAllByIdInBatch(List.of("M1"));
+        assertThat(changed).singleElement().isInstanceOfSatisfying(MatchesChanged.class, e -> {
+            assertThat(e.usernames()).containsExactly("user1");
+            assertThat(e.created()).isEqualTo(created);
+        });
+    }
+
+    @Test
+    void runOnce_similarPhotosAddScore_andMatchWithoutSharedWords() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        long photo = 0x0123_4567_89ab_cdefL;
+
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            new LostItem("L1", "user1", "black wallet", "canteen", "OPEN", null, photo)
+        )));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            // same words, photo 2 bits off
+            new FoundItem("F1", null, null, null, List.of("black", "wallet"), "AVAILABLE", null, photo ^ 0b101),
+            // no shared word, same photo
+            new FoundItem("F2", null, null, null, List.of("purse"), "AVAILABLE", null, photo),
+            // same words, unrelated photo
+            new FoundItem("F3", null, null, null, List.of("black", "wallet"), "AVAILABLE", null, ~photo)
+        )));
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(),
+                new PhotoProperties(2, 10), event -> {});
+
+        assertThat(job.runOnce()).extracting(m -> m.getFoundItemId() + "/" + m.getScore() + "/" + m.getReason())
+                .containsExactly(
+                        "F1/3.64/Common keywords: black, wallet; similar photo (2 bits apart)",
+                        "F3/2.0/Common keywords: black, wallet",
+                        "F2/2.0/Similar photo (0 bits apart)");
+    }
+
+    @Test
+    void runOnce_photoBelowTheThreshold_onlyBacksUpASharedWord() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        long photo = 0x0123_4567_89ab_cdefL;
+
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            new LostItem("L1", "user1", "black wallet", "canteen", "OPEN", null, photo)
+        )));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            // one shared word, same photo
+            new FoundItem("F1", null, null, null, List.of("black", "purse"), "AVAILABLE", null, photo),
+            // no shared word, same photo
+            new FoundItem("F2", null, null, null, List.of("purse"), "AVAILABLE", null, photo),
+            // one shared word, unrelated photo
+            new FoundItem("F3", null, null, null, List.of("wallet"), "AVAILABLE", null, ~photo)
+        )));
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(),
+                new PhotoProperties(1.5, 10), event -> {});
+
+        assertThat(job.runOnce()).extracting(m -> m.getFoundItemId() + "/" + m.getScore())
+                .containsExactly("F1/2.5");
+    }
+
+    @Test
+    void runOnce_plainPhotosDoNotMatchEachOther() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+
+        // a black wallet and a white umbrella, both on a plain background: dHash close to 0
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of(
+            new LostItem("L1", "user1", "black wallet", "canteen", "OPEN", null, 0L)
+        )));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            new FoundItem("F1", null, null, null, List.of("white", "umbrella"), "AVAILABLE", null, 0b100L)
+        )));
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(),
+                new PhotoProperties(2, 10), event -> {});
+
+        assertThat(job.runOnce()).isEmpty();
+    }
+
+    @Test
+    void preview_ranksFoundItems_withoutSavingOrLearningWords() {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(List.of()));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(List.of(
+            found("F1", List.of("black", "wallet")),
+            found("F2", List.of("black", "wallet", "leather")),
+            found("F3", List.of("black", "umbrella"))
+        )));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+        job.runOnce();
+        clearInvocations(repo);
+
+        // F3 only shares one word; "zebra" is new and must not be interned
+        assertThat(job.preview("black leather wallet zebra", null, 10))
+                .extracting(MatchPreview::foundItemId)
+                .containsExactly("F2", "F1");
+        assertThat(job.preview("black leather wallet", null, 1))
+                .extracting(MatchPreview::foundItemId)
+                .containsExactly("F2");
+        assertThat(job.preview("zebra", null, 10)).isEmpty();
+        verifyNoInteractions(repo);
+    }
+
+    private static List<String> run(List<LostItem> lost, List<FoundItem> found, int parallelism) {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(lost));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(found));
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, parallelism, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+        try {
+            return job.runOnce().stream()
+                    .map(m -> m.getLostItemId() + "/" + m.getFoundItemId() + "/" + m.getScore() + "/" + m.getReason())
+                    .toList();
+        } finally {
+            job.shutdown();
+        }
+    }
+
+    private static List<String> runShard(List<LostItem> lost, List<FoundItem> found, Shard shard) {
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        MatchResultRepository repo = mock(MatchResultRepository.class);
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(page(lost));
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(page(found));
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchingJob job = new MatchingJob(foundClient, lostClient, repo, 1, 0, CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+        return job.runMatching(shard, MatchingRun.untracked()).stream().map(MatchResult::getLostItemId).toList();
+    }
+
+    private static <T> ItemPage<T> page(List<T> items) {
+        return new ItemPage<>(items, null);
+    }
+
+    private static LostItem lost(String id, String username, String description, String location) {
+        return new LostItem(id, username, description, location, "OPEN", null, null);
+    }
+
+    private static FoundItem found(String id, List<String> keywords) {
+        return new FoundItem(id, null, null, null, keywords, "AVAILABLE", null, null);
+    }
+
+    private static FoundItem foundAt(String id, String location, Instant createdAt) {
+        return new FoundItem(id, "Wallet", "black leather", location, List.of(), "AVAILABLE", createdAt, null);
+    }
+
+    private static FoundItem found(String id, String title, String description, String location) {
+        return new FoundItem(id, title, description, location, List.of(), "AVAILABLE", null, null);
+    }
+
+    // a single instance: every slice lease is free
+    private static ClusterCoordinator leases() {
+        ClusterCoordinator cluster = mock(ClusterCoordinator.class);
+        when(cluster.tryLeaseAll(anyList())).thenReturn(true);
+        return cluster;
     }
 }
@@ -0,0 +1,113 @@
+package com.LostandFound.matching_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.LostandFound.matching_service.service.MatchingRun.State;
+import com.LostandFound.matching_service.service.MatchingRun.Trigger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MatchingRunsTest {
+
+    MatchingJob job = mock(MatchingJob.class);
+    ClusterCoordinator cluster = mock(ClusterCoordinator.class);
+    MatchingRuns runs = new MatchingRuns(job, cluster);
+
+    @AfterEach
+    void tearDown() {
+        runs.shutdown();
+    }
+
+    @Test
+    void submit_joinsTheRunInFlight_andStartsAnewOnceItIsDone() throws Exception {
+        when(cluster.currentShard()).thenReturn(Shard.ALL);
+        when(cluster.tryLeaseAll(any())).thenReturn(true);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(job.rescan(eq(Shard.ALL), any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        MatchingRun manual = runs.submit(Trigger.MANUAL);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // the scheduler fires while the manual run is still going
+        assertThat(runs.submit(Trigger.SCHEDULED)).isSameAs(manual);
+        assertThat(manual.status().state()).isEqualTo(State.RUNNING);
+
+        release.countDown();
+        await(manual);
+        assertThat(manual.status().state()).isEqualTo(State.SUCCEEDED);
+        verify(job, never()).runMatching(any(), any());
+        verify(cluster, timeout(1000)).releaseAll(Shard.ALL.leaseNames());
+
+        MatchingRun scheduled = runs.submit(Trigger.SCHEDULED);
+        assertThat(scheduled.id()).isNotEqualTo(manual.id());
+        await(scheduled);
+        verify(job).runMatching(eq(Shard.ALL), same(scheduled));
+        assertThat(runs.find(manual.id())).isSameAs(manual);
+    }
+
+    @Test
+    void run_isSkipped_whenAnotherInstanceHoldsTheLease() throws Exception {
+        when(cluster.currentShard()).thenReturn(Shard.ALL);
+        when(cluster.tryLeaseAll(any())).thenReturn(false);
+
+        MatchingRun run = runs.submit(Trigger.SCHEDULED);
+        await(run);
+
+        assertThat(run.status().state()).isEqualTo(State.SKIPPED);
+        verifyNoInteractions(job);
+    }
+
+    @Test
+    void failedRun_reportsTheError() throws Exception {
+        when(cluster.currentShard()).thenReturn(Shard.ALL);
+        when(cluster.tryLeaseAll(any())).thenReturn(true);
+        when(job.rescan(any(), any())).thenThrow(new IllegalStateException("found-services unavailable"));
+
+        MatchingRun run = runs.submit(Trigger.MANUAL);
+        await(run);
+
+        assertThat(run.status().state()).isEqualTo(State.FAILED);
+        assertThat(run.status().error()).isEqualTo("found-services unavailable");
+        assertThat(run.status().finishedAt()).isNotNull();
+    }
+
+    @Test
+    void run_fails_whenTheCoordinatorThrows_andTheNextSubmitStartsAnewRun() throws Exception {
+        when(cluster.currentShard())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(Shard.ALL);
+        when(cluster.tryLeaseAll(any())).thenReturn(true);
+
+        MatchingRun broken = runs.submit(Trigger.SCHEDULED);
+        await(broken);
+
+        assertThat(broken.status().state()).isEqualTo(State.FAILED);
+        assertThat(broken.status().error()).isEqualTo("database unavailable");
+        verify(cluster, never()).tryLeaseAll(any());
+
+        MatchingRun next = runs.submit(Trigger.SCHEDULED);
+        assertThat(next).isNotSameAs(broken);
+        await(next);
+        assertThat(next.status().state()).isEqualTo(State.SUCCEEDED);
+    }
+
+    private static void await(MatchingRun run) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (run.inFlight() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.LostandFound.matching_service.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class PhotoIndexTest {
+
+    @Test
+    void near_findsEverythingWithinTheDistance_likeALinearScan() {
+        SplittableRandom random = new SplittableRandom(7);
+        PhotoIndex index = new PhotoIndex();
+        Map<String, Long> all = new LinkedHashMap<>();
+
+        long query = random.nextLong();
+        for (int i = 0; i < 2_000; i++) {
+            // half are noisy copies of the query, so there is something to find
+            long hash = i % 2 == 0 ? random.nextLong() : flip(query, random.nextInt(14), random);
+            all.put("F" + i, hash);
+            index.put("F" + i, hash);
+        }
+
+        Map<String, Integer> found = new LinkedHashMap<>();
+        index.near(query, 10, (id, d) -> assertThat(found.put(id, d)).isNull());
+
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        all.forEach((id, h) -> {
+            int d = Long.bitCount(h ^ query);
+            if (d <= 10) expected.put(id, d);
+        });
+        assertThat(found).isNotEmpty().isEqualTo(expected);
+    }
+
+    @Test
+    void put_replacesAndRemoveDropsHashes() {
+        long a = 0x0123_4567_89ab_cdefL;
+        PhotoIndex index = new PhotoIndex();
+        assertThat(index.put("F1", a)).isTrue();
+        assertThat(index.put("F1", a)).isFalse();
+        assertThat(index.put("F1", ~a)).isTrue();
+
+        Map<String, Integer> found = new LinkedHashMap<>();
+        index.near(a, 3, found::put);
+        assertThat(found).isEmpty();
+
+        index.near(~a, 0, found::put);
+        assertThat(found).containsExactly(entry("F1", 0));
+
+        assertThat(index.put("F1", null)).isTrue();
+        assertThat(index.size()).isZero();
+        assertThat(index.hash("F1")).isNull();
+    }
+
+    @Test
+    void put_leavesOutHashesOfPlainPhotos() {
+        PhotoIndex index = new PhotoIndex();
+        assertThat(index.put("F1", 0x0123_4567_89ab_cdefL)).isTrue();
+        // a flat photo (all cells equal) replaces the hash with nothing
+        assertThat(index.put("F1", 0L)).isTrue();
+        assertThat(index.put("F2", 0b1001L)).isFalse();
+        assertThat(index.put("F3", -1L)).isFalse();
+
+        assertThat(index.size()).isZero();
+        assertThat(PhotoIndex.informative(0x0123_4567_89ab_cdefL)).isTrue();
+    }
+
+    private static long flip(long hash, int bits, SplittableRandom random) {
+        long out = hash;
+        while (Long.bitCount(out ^ hash) < bits) {
+            out ^= 1L << random.nextInt(64);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,115 @@
+package com.LostandFound.matching_service.service;
+
+import static com.LostandFound.matching_service.service.MatchingJob.FOUND_STATUSES;
+import static com.LostandFound.matching_service.service.MatchingJob.LOST_STATUSES;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.LostandFound.matching_service.client.FoundClient;
+import com.LostandFound.matching_service.client.FoundItem;
+import com.LostandFound.matching_service.client.ItemPage;
+import com.LostandFound.matching_service.client.LostClient;
+import com.LostandFound.matching_service.config.PhotoProperties;
+import com.LostandFound.matching_service.model.MatchPreview;
+import com.LostandFound.matching_service.repo.MatchResultRepository;
+
+/**
+ * Latency of {@link MatchingJob#preview} against a synthetic catalog; the target
+ * is a p99 under 10ms at 100k found items (see p0.99 in the output).
+ *
+ * Word frequencies are skewed so a few words ("black", "phone", ...) sit on a
+ * large share of the items, as they do in real descriptions.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreviewBenchmark {
+
+    private static final int VOCABULARY = 5000;
+    private static final int DRAFTS = 1024;
+
+    @Param("100000")
+    int foundItems;
+
+    private MatchingJob job;
+    private String[] drafts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void load() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<FoundItem> found = new ArrayList<>(foundItems);
+        for (int i = 0; i < foundItems; i++) {
+            found.add(new FoundItem("F" + i, words(random, 2), words(random, 8), null,
+                    List.of(word(random), word(random), word(random)), "AVAILABLE", null, null));
+        }
+        drafts = new String[DRAFTS];
+        for (int i = 0; i < DRAFTS; i++) {
+            drafts[i] = words(random, 6);
+        }
+
+        FoundClient foundClient = mock(FoundClient.class);
+        LostClient lostClient = mock(LostClient.class);
+        when(foundClient.getFoundPage(null, 500, FOUND_STATUSES)).thenReturn(new ItemPage<>(found, null));
+        when(lostClient.getLostPage(null, 500, LOST_STATUSES)).thenReturn(new ItemPage<>(List.of(), null));
+
+        job = new MatchingJob(foundClient, lostClient, mock(MatchResultRepository.class), 1, 0,
+                CandidateBlocking.disabled(), PhotoProperties.DISABLED, event -> {});
+        job.runOnce();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        job.shutdown();
+    }
+
+    @Benchmark
+    public List<MatchPreview> preview() {
+        String draft = drafts[next++ & (DRAFTS - 1)];
+        return job.preview(draft, null, 10);
+    }
+
+    // low indexes are drawn far more often than high ones
+    private static String word(SplittableRandom random) {
+        double r = random.nextDouble();
+        int i = (int) (VOCABULARY * r * r * r);
+        StringBuilder sb = new StringBuilder("w");
+        do {
+            sb.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return sb.append("x").toString();
+    }
+
+    private static String words(SplittableRandom random, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(word(random));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.LostandFound.matching_service.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class TokenVectorsTest {
+
+    @Test
+    void overlap_countsSharedIds() {
+        assertThat(TokenVectors.overlap(new int[] {1, 3, 5, 9}, new int[] {2, 3, 9, 10})).isEqualTo(2);
+        assertThat(TokenVectors.overlap(new int[] {}, new int[] {1})).isZero();
+    }
+
+    @Test
+    void common_decodesAndSortsAlphabetically() {
+        TokenDictionary dict = new TokenDictionary();
+        int wallet = dict.intern("wallet");
+        int black = dict.intern("black");
+        int canteen = dict.intern("canteen");
+
+        IntList lost = new IntList();
+        lost.add(wallet);
+        lost.add(black);
+        lost.add(canteen);
+        IntList found = new IntList();
+        found.add(black);
+        found.add(wallet);
+        found.add(wallet);
+
+        assertThat(TokenVectors.common(lost.toSortedSet(), found.toSortedSet(), dict))
+                .containsExactly("black", "wallet");
+    }
+}
@@ -0,0 +1,97 @@
+package com.LostandFound.matching_service.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class TokenizerTest {
+
+    // the regex/stream implementation the scanner replaced
+    private static Set<String> reference(String s) {
+        if (s == null) return Set.of();
+
+        return Arrays.stream(s.toLowerCase(Locale.ROOT).split("[^a-z0-9]+"))
+                .filter(w -> w.length() >= 3)
+                .filter(w -> !Tokenizer.STOP.contains(w))
+                .filter(w -> !w.matches("\\d+"))
+                .collect(Collectors.toSet());
+    }
+
+    private static String referenceKeyword(Object o) {
+        String kw = String.valueOf(o).toLowerCase(Locale.ROOT).trim();
+        if (!kw.isEmpty() && kw.length() >= 3 && !Tokenizer.STOP.contains(kw) && !kw.matches("\\d+")) {
+            return kw;
+        }
+        return null;
+    }
+
+    @Test
+    void tokenize_matchesReference_onKnownInputs() {
+        Tokenizer t = new Tokenizer();
+        List<String> inputs = List.of(
+                "",
+                "Black wallet near the Canteen",
+                "Lost my iPhone13 at gate 201, please contact admin",
+                "BLUE---bag__with  pink/straps; row 12 seat 4",
+                "keys!!!car-keys (toyota) 2024 model abc123",
+                "na\u00EFve caf\u00E9 r\u00E9sum\u00E9",
+                "\u212Aey ring",    // KELVIN SIGN lowercases to 'k'
+                "\u0130stanbul bag", // capital I with dot above
+                "a an to of the and for nearby nearby2 contact contacts",
+                "x".repeat(100) + " " + "7".repeat(50)
+        );
+
+        for (String in : inputs) {
+            assertThat(t.tokenize(in)).as(in).isEqualTo(reference(in));
+        }
+        assertThat(t.tokenize((String) null)).isEmpty();
+    }
+
+    @Test
+    void tokenize_matchesReference_onRandomInputs() {
+        Tokenizer t = new Tokenizer();
+        Random rnd = new Random(42);
+        String alphabet = "abcdeXYZ0123 ,.-_/\u00E9\u0130\u212A\t\n";
+        List<String> words = new ArrayList<>(Tokenizer.STOP);
+
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int len = rnd.nextInt(60);
+            for (int j = 0; j < len; j++) {
+                if (rnd.nextInt(8) == 0) {
+                    sb.append(' ').append(words.get(rnd.nextInt(words.size()))).append(' ');
+                } else {
+                    sb.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+                }
+            }
+            String in = sb.toString();
+            assertThat(t.tokenize(in)).as(in).isEqualTo(reference(in));
+        }
+    }
+
+    @Test
+    void normalizeKeyword_matchesReference() {
+        for (Object kw : Arrays.asList("Black", "  wallet ", "the", "201", "ab", "  ", "Red Pen", "42a", null)) {
+            assertThat(Tokenizer.normalizeKeyword(kw)).as(String.valueOf(kw)).isEqualTo(referenceKeyword(kw));
+        }
+    }
+
+    @Test
+    void tokenize_reusesBuffer_acrossTokens() {
+        Tokenizer t = new Tokenizer();
+        List<char[]> buffers = new ArrayList<>();
+
+        t.tokenize("black leather wallet", (b, n) -> buffers.add(b));
+
+        assertThat(buffers).hasSize(3);
+        assertThat(buffers.get(0)).isSameAs(buffers.get(1)).isSameAs(buffers.get(2));
+    }
+}
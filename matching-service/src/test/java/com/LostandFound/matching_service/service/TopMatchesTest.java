@@ -0,0 +1,50 @@
+package com.LostandFound.matching_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.LostandFound.matching_service.model.MatchRank;
+import org.junit.jupiter.api.Test;
+
+class TopMatchesTest {
+
+    @Test
+    void keepsBestK_andEvictsWeakerStoredMatches() {
+        TopMatches top = new TopMatches(2, List.of(
+                new MatchRank("M1", "L1", "F1", 2.0),
+                new MatchRank("M2", "L1", "F2", 4.0)));
+
+        top.offer("L1", "F3", 3.0);  // beats M1
+        top.offer("L1", "F4", 2.0);  // ties the weakest left (F3 is 3.0): not good enough
+        top.offer("L1", "F5", 5.0);  // beats F3, which never got saved
+
+        assertThat(top.added()).extracting(TopMatches.Candidate::foundItemId).containsExactly("F5");
+        assertThat(top.evicted()).containsExactly("M1");
+    }
+
+    @Test
+    void equalScores_keepTheFirstArrivals() {
+        TopMatches top = new TopMatches(2, List.of());
+
+        top.offer("L1", "F1", 2.0);
+        top.offer("L1", "F2", 2.0);
+        top.offer("L1", "F3", 2.0);
+        top.offer("L2", "F3", 2.0);
+
+        assertThat(top.added()).extracting(c -> c.lostItemId() + "/" + c.foundItemId())
+                .containsExactly("L1/F1", "L1/F2", "L2/F3");
+    }
+
+    @Test
+    void storedAndRepeatedPairs_areNotOfferedTwice() {
+        TopMatches top = new TopMatches(0, List.of(new MatchRank("M1", "L1", "F1", 2.0)));
+
+        top.offer("L1", "F1", 9.0);
+        top.offer("L1", "F2", 2.0);
+        top.offer("L1", "F2", 3.0);
+
+        assertThat(top.added()).extracting(TopMatches.Candidate::score).containsExactly(2.0);
+        assertThat(top.evicted()).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package com.LostandFound.matching_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.LostandFound.matching_service.model.MatchPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class UserMatchCacheTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void repeatedReads_hitTheCache_untilThatUsersMatchesChange() {
+        UserMatchCache cache = new UserMatchCache(60_000, 100, registry);
+
+        cache.get("user1", "p1", this::load);
+        cache.get("user1", "p1", this::load);
+        cache.get("user2", "p1", this::load);
+        assertThat(loads).hasValue(2);
+
+        // another user's write leaves user1 alone
+        cache.onMatchesChanged(new MatchesChanged(Set.of("user2"), List.of()));
+        cache.get("user1", "p1", this::load);
+        assertThat(loads).hasValue(2);
+
+        cache.onMatchesChanged(new MatchesChanged(Set.of("user1"), List.of()));
+        cache.get("user1", "p1", this::load);
+        assertThat(loads).hasValue(3);
+
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(3);
+    }
+
+    @Test
+    void loadOverlappingAWrite_isReturnedButNotCached() {
+        UserMatchCache cache = new UserMatchCache(60_000, 100, registry);
+
+        MatchPage stale = cache.get("user1", "p1", () -> {
+            cache.onMatchesChanged(new MatchesChanged(Set.of("user1"), List.of()));
+            return load();
+        });
+        assertThat(stale).isNotNull();
+
+        cache.get("user1", "p1", this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void entriesExpire_andLeastRecentlyUsedUsersAreEvicted() throws Exception {
+        UserMatchCache expiring = new UserMatchCache(1, 100, registry);
+        expiring.get("user1", "p1", this::load);
+        Thread.sleep(5);
+        expiring.get("user1", "p1", this::load);
+        assertThat(loads).hasValue(2);
+
+        UserMatchCache small = new UserMatchCache(60_000, 2, registry);
+        small.get("user1", "p1", this::load);
+        small.get("user2", "p1", this::load);
+        small.get("user1", "p1", this::load);   // user1 is now the most recent
+        small.get("user3", "p1", this::load);   // evicts user2
+        assertThat(small.size()).isEqualTo(2);
+
+        loads.set(0);
+        small.get("user1", "p1", this::load);
+        small.get("user2", "p1", this::load);
+        assertThat(loads).hasValue(1);
+        assertThat(registry.get("cache.evictions").counter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    private MatchPage load() {
+        loads.incrementAndGet();
+        return new MatchPage(List.of(), null);
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("result", result).counter().count();
+    }
+}